@@ -0,0 +1,295 @@
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A list stored in one array with a movable gap of empty slots. Elements
+ * before the gap sit at their own index, elements after it are shifted up
+ * by the gap's length.
+ *
+ * Inserting or removing next to the gap is O(1). Editing elsewhere first
+ * moves the gap there, which costs O(distance moved), so bursts of edits
+ * around one position stay cheap. {@code get} and {@code setAtIndex} are
+ * always O(1).
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class GapBufferList<T> implements LinkedListInterface<T> {
+
+    public static final int INITIAL_CAPACITY = 16;
+
+    private Object[] backingArray;
+    private int gapStart;
+    private int gapEnd;
+
+    /**
+     * Constructs an empty list with an initial capacity of
+     * {@code INITIAL_CAPACITY}.
+     */
+    public GapBufferList() {
+        this(INITIAL_CAPACITY);
+    }
+
+
+    /**
+     * Constructs an empty list with the specified initial capacity.
+     *
+     * @param initialCapacity the initial length of the backing array
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     * negative.
+     */
+    public GapBufferList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be"
+                    + " negative.");
+        }
+        backingArray = new Object[initialCapacity];
+        gapStart = 0;
+        gapEnd = initialCapacity;
+    }
+
+
+    @Override
+    public void add(T data) {
+        addToIndex(size(), data);
+    }
+
+
+    @Override
+    public void addToIndex(int index, T data) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        } else if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        backingArray[gapStart] = data;
+        gapStart++;
+    }
+
+
+    @Override
+    public void addToFront(T data) {
+        addToIndex(0, data);
+    }
+
+
+    @Override
+    public void addAll(Collection<T> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        for (T item : collection) {
+            add(item);
+        }
+    }
+
+
+    @Override
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        for (int i = 0; i < gapStart; i++) {
+            if (backingArray[i] == data) {
+                return true;
+            }
+        }
+        for (int i = gapEnd; i < backingArray.length; i++) {
+            if (backingArray[i] == data) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size() || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        return (T) backingArray[slot(index)];
+    }
+
+
+    @Override
+    public T remove() {
+        if (size() == 0) {
+            return null;
+        }
+        return removeAtIndex(size() - 1);
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T removeAtIndex(int index) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException("That index isnt in our LL.");
+        }
+        T data;
+        if (index < gapStart) {
+            // delete backwards from the gap
+            moveGap(index + 1);
+            gapStart--;
+            data = (T) backingArray[gapStart];
+            backingArray[gapStart] = null;
+        } else {
+            // delete forwards from the gap
+            moveGap(index);
+            data = (T) backingArray[gapEnd];
+            backingArray[gapEnd] = null;
+            gapEnd++;
+        }
+        return data;
+    }
+
+
+    @Override
+    public T removeFromFront() {
+        if (size() == 0) {
+            return null;
+        }
+        return removeAtIndex(0);
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T setAtIndex(int index, T data) {
+        if (index >= size() || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null.");
+        }
+        int slot = slot(index);
+        T replaced = (T) backingArray[slot];
+        backingArray[slot] = data;
+        return replaced;
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        Object[] listArray = new Object[size()];
+        System.arraycopy(backingArray, 0, listArray, 0, gapStart);
+        System.arraycopy(backingArray, gapEnd, listArray, gapStart,
+                backingArray.length - gapEnd);
+        return listArray;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return (size() == 0);
+    }
+
+
+    @Override
+    public int size() {
+        return backingArray.length - (gapEnd - gapStart);
+    }
+
+
+    /**
+     * Clears the list, keeping the backing array.
+     *
+     * Must be O(n) to drop the references held in the array.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(backingArray, null);
+        gapStart = 0;
+        gapEnd = backingArray.length;
+    }
+
+
+    /**
+     * Maps a list index to its slot in the backing array.
+     *
+     * @param index The index of the element.
+     * @return The slot holding that element.
+     */
+    private int slot(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+
+    /**
+     * Moves the gap so that it starts at {@code index}, shifting the
+     * elements in between across it and clearing the slots they left.
+     *
+     * @param index The new start of the gap.
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            int newGapEnd = gapEnd - count;
+            System.arraycopy(backingArray, index, backingArray, newGapEnd,
+                    count);
+            Arrays.fill(backingArray, index, Math.min(gapStart, newGapEnd),
+                    null);
+            gapStart = index;
+            gapEnd = newGapEnd;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            int newGapEnd = gapEnd + count;
+            System.arraycopy(backingArray, gapEnd, backingArray, gapStart,
+                    count);
+            Arrays.fill(backingArray, Math.max(gapEnd, index), newGapEnd,
+                    null);
+            gapStart = index;
+            gapEnd = newGapEnd;
+        }
+    }
+
+
+    /**
+     * Doubles the backing array, keeping the gap where it is.
+     */
+    private void grow() {
+        int capacity = Math.max(backingArray.length * 2, INITIAL_CAPACITY);
+        Object[] newArray = new Object[capacity];
+        int tailLength = backingArray.length - gapEnd;
+        System.arraycopy(backingArray, 0, newArray, 0, gapStart);
+        System.arraycopy(backingArray, gapEnd, newArray,
+                capacity - tailLength, tailLength);
+        gapEnd = capacity - tailLength;
+        backingArray = newArray;
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getHead() {
+        throw new UnsupportedOperationException("GapBufferList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getTail() {
+        throw new UnsupportedOperationException("GapBufferList has no"
+                + " LinkedListNodes.");
+    }
+}
@@ -0,0 +1,333 @@
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * A skip list ordered by position rather than by key. Every forward link
+ * also stores its width, the number of level 0 steps it jumps over, so
+ * {@code get}, {@code addToIndex}, {@code removeAtIndex} and
+ * {@code setAtIndex} run in O(log n) expected time.
+ *
+ * Null and bounds handling match {@code SinglyLinkedList}.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class IndexableSkipList<T> implements LinkedListInterface<T> {
+
+    public static final int MAX_LEVEL = 32;
+
+    private final SkipNode<T> head = new SkipNode<T>(null, MAX_LEVEL);
+    private final Random random = new Random();
+    private SkipNode<T> tail;
+    private int level = 1;
+    private int size;
+
+    @Override
+    public void add(T data) {
+        addToIndex(size, data);
+    }
+
+
+    @Override
+    public void addToIndex(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        } else if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        SkipNode<T>[] update = newUpdateArray();
+        int[] updatePos = new int[MAX_LEVEL];
+        findPredecessors(index, update, updatePos);
+
+        int height = randomLevel();
+        if (height > level) {
+            for (int l = level; l < height; l++) {
+                update[l] = head;
+                updatePos[l] = 0;
+            }
+            level = height;
+        }
+
+        // the new node takes position index + 1, head sits at position 0
+        SkipNode<T> create = new SkipNode<T>(data, height);
+        for (int l = 0; l < level; l++) {
+            SkipNode<T> previous = update[l];
+            if (l < height) {
+                if (previous.next[l] != null) {
+                    create.width[l] = updatePos[l] + previous.width[l] - index;
+                }
+                create.next[l] = previous.next[l];
+                previous.next[l] = create;
+                previous.width[l] = index + 1 - updatePos[l];
+            } else if (previous.next[l] != null) {
+                previous.width[l]++;
+            }
+        }
+        if (create.next[0] == null) {
+            tail = create;
+        }
+        size++;
+    }
+
+
+    @Override
+    public void addToFront(T data) {
+        addToIndex(0, data);
+    }
+
+
+    @Override
+    public void addAll(Collection<T> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        for (T item : collection) {
+            add(item);
+        }
+    }
+
+
+    @Override
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        for (SkipNode<T> current = head.next[0]; current != null;
+                current = current.next[0]) {
+            if (current.data == data) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    @Override
+    public T get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        return nodeAt(index).data;
+    }
+
+
+    @Override
+    public T remove() {
+        if (size == 0) {
+            return null;
+        }
+        return removeAtIndex(size - 1);
+    }
+
+
+    @Override
+    public T removeAtIndex(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("That index isnt in our LL.");
+        }
+        SkipNode<T>[] update = newUpdateArray();
+        int[] updatePos = new int[MAX_LEVEL];
+        findPredecessors(index, update, updatePos);
+
+        SkipNode<T> removed = update[0].next[0];
+        for (int l = 0; l < level; l++) {
+            SkipNode<T> previous = update[l];
+            if (previous.next[l] == removed) {
+                previous.width[l] += removed.width[l] - 1;
+                previous.next[l] = removed.next[l];
+            } else if (previous.next[l] != null) {
+                previous.width[l]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        if (removed == tail) {
+            tail = update[0] == head ? null : update[0];
+        }
+        size--;
+        return removed.data;
+    }
+
+
+    @Override
+    public T removeFromFront() {
+        if (size == 0) {
+            return null;
+        }
+        return removeAtIndex(0);
+    }
+
+
+    @Override
+    public T setAtIndex(int index, T data) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null.");
+        }
+        SkipNode<T> current = nodeAt(index);
+        T replaced = current.data;
+        current.data = data;
+        return replaced;
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        Object[] listArray = new Object[size];
+        SkipNode<T> current = head.next[0];
+        for (int count = 0; count < size; count++) {
+            listArray[count] = current.data;
+            current = current.next[0];
+        }
+        return listArray;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public void clear() {
+        for (int l = 0; l < MAX_LEVEL; l++) {
+            head.next[l] = null;
+            head.width[l] = 0;
+        }
+        tail = null;
+        level = 1;
+        size = 0;
+    }
+
+
+    /**
+     * Returns the node at index by descending from the top level, taking
+     * every link that does not overshoot.
+     *
+     * @param index The index of the node. Must already be bounds checked.
+     * @return The node at that index.
+     */
+    private SkipNode<T> nodeAt(int index) {
+        if (index == size - 1) {
+            return tail;
+        }
+        SkipNode<T> current = head;
+        int pos = 0;
+        for (int l = level - 1; l >= 0; l--) {
+            while (current.next[l] != null
+                    && pos + current.width[l] <= index + 1) {
+                pos += current.width[l];
+                current = current.next[l];
+            }
+        }
+        return current;
+    }
+
+
+    /**
+     * Fills {@code update} with the last node on each level that sits before
+     * position {@code index + 1}, and {@code updatePos} with their positions.
+     *
+     * @param index The index being inserted at or removed from.
+     * @param update The predecessor on each level.
+     * @param updatePos The position of each predecessor.
+     */
+    private void findPredecessors(int index, SkipNode<T>[] update,
+            int[] updatePos) {
+        SkipNode<T> current = head;
+        int pos = 0;
+        for (int l = level - 1; l >= 0; l--) {
+            while (current.next[l] != null
+                    && pos + current.width[l] <= index) {
+                pos += current.width[l];
+                current = current.next[l];
+            }
+            update[l] = current;
+            updatePos[l] = pos;
+        }
+    }
+
+
+    /**
+     * Picks a level for a new node, each extra level with probability 1/2.
+     *
+     * @return a level between 1 and {@code MAX_LEVEL}
+     */
+    private int randomLevel() {
+        int height = Integer.numberOfTrailingZeros(random.nextInt()) + 1;
+        return Math.min(height, MAX_LEVEL);
+    }
+
+
+    /**
+     * Creates an array to hold the predecessor on each level.
+     *
+     * @return an empty predecessor array
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private SkipNode<T>[] newUpdateArray() {
+        return (SkipNode<T>[]) new SkipNode[MAX_LEVEL];
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getHead() {
+        throw new UnsupportedOperationException("IndexableSkipList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getTail() {
+        throw new UnsupportedOperationException("IndexableSkipList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * A skip list node with a forward link and link width on each level.
+     */
+    private static class SkipNode<T> {
+        private T data;
+        private final SkipNode<T>[] next;
+        private final int[] width;
+
+        /**
+         * Creates a node with {@code height} levels.
+         *
+         * @param data the data to store in this node
+         * @param height the number of levels this node is linked on
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        SkipNode(T data, int height) {
+            this.data = data;
+            this.next = (SkipNode<T>[]) new SkipNode[height];
+            this.width = new int[height];
+        }
+    }
+}
@@ -0,0 +1,289 @@
+import java.util.Collection;
+
+/**
+ * A {@code LinkedListInterface} that forwards every call to another list
+ * and records what it cost, the same way {@code SearchableString} counts
+ * {@code charAt} calls. Use it to find call sites doing O(n) positional
+ * access.
+ *
+ * For each operation it counts calls and keeps a latency histogram with
+ * power-of-two nanosecond buckets. It also counts node allocations and
+ * node hops. A decorator cannot see inside the list it wraps, so hops are
+ * the steps a singly linked list walking from head would take for the
+ * call, following the Big-O notes in {@code LinkedListInterface}.
+ * {@code contains} is charged a full walk.
+ *
+ * Like the lists it wraps, this class is not thread-safe.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class InstrumentedList<T> implements LinkedListInterface<T> {
+
+    /**
+     * The operations that are counted and timed.
+     */
+    public enum Operation {
+        ADD, ADD_TO_INDEX, ADD_TO_FRONT, ADD_ALL, CONTAINS, GET, REMOVE,
+        REMOVE_AT_INDEX, REMOVE_FROM_FRONT, SET_AT_INDEX, TO_ARRAY, CLEAR
+    }
+
+    // Bucket b holds calls that took [2^(b-1), 2^b) ns, bucket 0 holds 0ns.
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private final LinkedListInterface<T> list;
+    private final long[] calls = new long[Operation.values().length];
+    private final long[][] latency =
+            new long[Operation.values().length][HISTOGRAM_BUCKETS];
+    private long nodeHops;
+    private long allocations;
+
+    /**
+     * Wraps {@code list} so that calls through this object are recorded.
+     *
+     * @param list the list to forward to
+     * @throws java.lang.IllegalArgumentException if list is null.
+     */
+    public InstrumentedList(LinkedListInterface<T> list) {
+        if (list == null) {
+            throw new IllegalArgumentException("Cannot wrap a null list.");
+        }
+        this.list = list;
+    }
+
+
+    @Override
+    public void add(T data) {
+        long start = System.nanoTime();
+        list.add(data);
+        allocations++;
+        record(Operation.ADD, start);
+    }
+
+
+    @Override
+    public void addToIndex(int index, T data) {
+        int size = list.size();
+        long start = System.nanoTime();
+        list.addToIndex(index, data);
+        allocations++;
+        nodeHops += (index == 0 || index == size) ? 0 : index;
+        record(Operation.ADD_TO_INDEX, start);
+    }
+
+
+    @Override
+    public void addToFront(T data) {
+        long start = System.nanoTime();
+        list.addToFront(data);
+        allocations++;
+        record(Operation.ADD_TO_FRONT, start);
+    }
+
+
+    @Override
+    public void addAll(Collection<T> collection) {
+        int size = list.size();
+        long start = System.nanoTime();
+        list.addAll(collection);
+        allocations += list.size() - size;
+        record(Operation.ADD_ALL, start);
+    }
+
+
+    @Override
+    public boolean contains(T data) {
+        long start = System.nanoTime();
+        boolean found = list.contains(data);
+        nodeHops += list.size();
+        record(Operation.CONTAINS, start);
+        return found;
+    }
+
+
+    @Override
+    public T get(int index) {
+        int size = list.size();
+        long start = System.nanoTime();
+        T data = list.get(index);
+        nodeHops += (index == 0 || index == size - 1) ? 0 : index;
+        record(Operation.GET, start);
+        return data;
+    }
+
+
+    @Override
+    public T remove() {
+        int size = list.size();
+        long start = System.nanoTime();
+        T data = list.remove();
+        nodeHops += Math.max(size - 1, 0);
+        record(Operation.REMOVE, start);
+        return data;
+    }
+
+
+    @Override
+    public T removeAtIndex(int index) {
+        long start = System.nanoTime();
+        T data = list.removeAtIndex(index);
+        nodeHops += index;
+        record(Operation.REMOVE_AT_INDEX, start);
+        return data;
+    }
+
+
+    @Override
+    public T removeFromFront() {
+        long start = System.nanoTime();
+        T data = list.removeFromFront();
+        record(Operation.REMOVE_FROM_FRONT, start);
+        return data;
+    }
+
+
+    @Override
+    public T setAtIndex(int index, T data) {
+        int size = list.size();
+        long start = System.nanoTime();
+        T replaced = list.setAtIndex(index, data);
+        nodeHops += (index == 0 || index == size - 1) ? 0 : index;
+        record(Operation.SET_AT_INDEX, start);
+        return replaced;
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        long start = System.nanoTime();
+        Object[] listArray = list.toArray();
+        nodeHops += listArray.length;
+        record(Operation.TO_ARRAY, start);
+        return listArray;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+
+    @Override
+    public void clear() {
+        long start = System.nanoTime();
+        list.clear();
+        record(Operation.CLEAR, start);
+    }
+
+
+    /**
+     * Returns the number of completed calls to {@code operation}.
+     *
+     * @param operation the operation to look up
+     * @return the number of calls
+     */
+    public long getCount(Operation operation) {
+        return calls[operation.ordinal()];
+    }
+
+
+    /**
+     * Returns a copy of the latency histogram for {@code operation}.
+     * Entry b counts calls that took at least 2^(b-1) and less than 2^b
+     * nanoseconds. Entry 0 counts calls that measured 0ns.
+     *
+     * @param operation the operation to look up
+     * @return a copy of the {@code HISTOGRAM_BUCKETS} bucket counts
+     */
+    public long[] getLatencyHistogram(Operation operation) {
+        return latency[operation.ordinal()].clone();
+    }
+
+
+    /**
+     * Returns the estimated number of node hops made so far.
+     *
+     * @return the number of node hops
+     */
+    public long getNodeHops() {
+        return nodeHops;
+    }
+
+
+    /**
+     * Returns the number of elements added so far, each of which needed a
+     * node allocation in a linked implementation.
+     *
+     * @return the number of allocations
+     */
+    public long getAllocations() {
+        return allocations;
+    }
+
+
+    /**
+     * Zeroes every counter and histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = 0;
+            latency[i] = new long[HISTOGRAM_BUCKETS];
+        }
+        nodeHops = 0;
+        allocations = 0;
+    }
+
+
+    /**
+     * Returns a one-line summary of the counters, for logging.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("InstrumentedList hops=")
+                .append(nodeHops).append(" allocations=")
+                .append(allocations);
+        for (Operation operation : Operation.values()) {
+            if (calls[operation.ordinal()] > 0) {
+                summary.append(' ').append(operation).append('=')
+                        .append(calls[operation.ordinal()]);
+            }
+        }
+        return summary.toString();
+    }
+
+
+    /**
+     * Counts a completed call and files its latency.
+     *
+     * @param operation the operation that completed
+     * @param start the {@code System.nanoTime} reading before the call
+     */
+    private void record(Operation operation, long start) {
+        long elapsed = Math.max(System.nanoTime() - start, 0);
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(elapsed),
+                HISTOGRAM_BUCKETS - 1);
+        calls[operation.ordinal()]++;
+        latency[operation.ordinal()][bucket]++;
+    }
+
+
+    @Override
+    public LinkedListNode<T> getHead() {
+        return list.getHead();
+    }
+
+
+    @Override
+    public LinkedListNode<T> getTail() {
+        return list.getTail();
+    }
+}
@@ -0,0 +1,408 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A singly linked list of ints. The nodes live in two parallel arrays,
+ * {@code values} and {@code next}, and are referred to by slot number, so
+ * there are no per-element objects and nothing is boxed.
+ *
+ * Slots freed by removals are chained through {@code next} and reused
+ * before the arrays grow. The operations mirror {@code LinkedListInterface}
+ * with {@code int} in place of {@code T}. Since there is no null to return,
+ * removing from an empty list throws instead.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class IntLinkedList {
+
+    public static final int INITIAL_CAPACITY = 16;
+
+    // Slot number used in place of a null link.
+    private static final int NIL = -1;
+
+    private int[] values;
+    private int[] next;
+    private int head = NIL;
+    private int tail = NIL;
+    private int size;
+
+    // Free slots chained through next, and the first never-used slot.
+    private int freeHead = NIL;
+    private int used;
+
+    // Last slot reached by a positional lookup and its index.
+    private int finger = NIL;
+    private int fingerIndex;
+
+    /**
+     * Constructs an empty list with room for {@code INITIAL_CAPACITY}
+     * elements before the arrays grow.
+     */
+    public IntLinkedList() {
+        this(INITIAL_CAPACITY);
+    }
+
+
+    /**
+     * Constructs an empty list with room for {@code initialCapacity}
+     * elements before the arrays grow.
+     *
+     * @param initialCapacity the initial length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     * negative.
+     */
+    public IntLinkedList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be"
+                    + " negative.");
+        }
+        values = new int[initialCapacity];
+        next = new int[initialCapacity];
+    }
+
+
+    /**
+     * Adds {@code data} to the end of the list.
+     *
+     * Should be amortized O(1).
+     *
+     * @param data The data to add.
+     */
+    public void add(int data) {
+        int slot = allocate(data, NIL);
+        if (head == NIL) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+        tail = slot;
+        size++;
+    }
+
+
+    /**
+     * Adds {@code data} so that it ends up at {@code index}.
+     *
+     * Should be O(1) if index is 0 or {@code size}.
+     * Should be O(n) otherwise, or O(1) just after the finger.
+     *
+     * @param index The index where you want the new element.
+     * @param data The data to add.
+     * @throws java.lang.IndexOutOfBoundsException if index is negative
+     * or index > size.
+     */
+    public void addToIndex(int index, int data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        }
+        if (index == 0) {
+            addToFront(data);
+        } else if (index == size) {
+            add(data);
+        } else {
+            int previous = slotAt(index - 1);
+            int slot = allocate(data, next[previous]);
+            next[previous] = slot;
+            size++;
+            finger = slot;
+            fingerIndex = index;
+        }
+    }
+
+
+    /**
+     * Adds {@code data} to the front of the list.
+     *
+     * Should be amortized O(1).
+     *
+     * @param data The data to add.
+     */
+    public void addToFront(int data) {
+        int slot = allocate(data, head);
+        head = slot;
+        if (tail == NIL) {
+            tail = slot;
+        }
+        size++;
+        if (finger != NIL) {
+            fingerIndex++;
+        }
+    }
+
+
+    /**
+     * Appends all the data in the array, in order.
+     *
+     * @param data The data to add.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public void addAll(int[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Array is null.");
+        }
+        ensureCapacity(size + data.length);
+        for (int item : data) {
+            add(item);
+        }
+    }
+
+
+    /**
+     * Returns whether the list contains {@code data}.
+     *
+     * Should be O(n).
+     *
+     * @param data The data to look for.
+     * @return True if data is found. False otherwise.
+     */
+    public boolean contains(int data) {
+        for (int slot = head; slot != NIL; slot = next[slot]) {
+            if (values[slot] == data) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index The index of the element.
+     * @return The data at that index.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size.
+     */
+    public int get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        return values[slotAt(index)];
+    }
+
+
+    /**
+     * Removes and returns the last element.
+     *
+     * Should be O(n), or O(1) when the finger is just before the tail.
+     *
+     * @return The data from the last element.
+     * @throws java.util.NoSuchElementException if the list is empty.
+     */
+    public int remove() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        return removeAtIndex(size - 1);
+    }
+
+
+    /**
+     * Removes and returns the element at index.
+     *
+     * @param index The index of the element.
+     * @return The data that was formerly at that index.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size.
+     */
+    public int removeAtIndex(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("That index isnt in our LL.");
+        }
+        if (index == 0) {
+            return removeFromFront();
+        }
+        int previous = slotAt(index - 1);
+        int removed = next[previous];
+        next[previous] = next[removed];
+        if (removed == tail) {
+            tail = previous;
+        }
+        size--;
+        finger = previous;
+        fingerIndex = index - 1;
+        return release(removed);
+    }
+
+
+    /**
+     * Removes and returns the first element.
+     *
+     * Should be O(1).
+     *
+     * @return The data from the first element.
+     * @throws java.util.NoSuchElementException if the list is empty.
+     */
+    public int removeFromFront() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        int front = head;
+        head = next[front];
+        if (head == NIL) {
+            tail = NIL;
+        }
+        size--;
+        if (finger == front) {
+            finger = NIL;
+        } else if (finger != NIL) {
+            fingerIndex--;
+        }
+        return release(front);
+    }
+
+
+    /**
+     * Replaces the element at index with {@code data}.
+     *
+     * @param index The index to replace.
+     * @param data The new data.
+     * @return The replaced data.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size.
+     */
+    public int setAtIndex(int index, int data) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        int slot = slotAt(index);
+        int replaced = values[slot];
+        values[slot] = data;
+        return replaced;
+    }
+
+
+    /**
+     * Returns the list as an array of ints.
+     *
+     * Must be O(n).
+     *
+     * @return An array of length {@code size} in list order.
+     */
+    public int[] toArray() {
+        int[] listArray = new int[size];
+        int slot = head;
+        for (int count = 0; count < size; count++) {
+            listArray[count] = values[slot];
+            slot = next[slot];
+        }
+        return listArray;
+    }
+
+
+    /**
+     * Returns whether the list is empty.
+     *
+     * @return True if empty. False otherwise.
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Clears the list. The backing arrays are kept for reuse.
+     *
+     * Should be O(1).
+     */
+    public void clear() {
+        head = NIL;
+        tail = NIL;
+        size = 0;
+        freeHead = NIL;
+        used = 0;
+        finger = NIL;
+    }
+
+
+    /**
+     * Takes a free slot, growing the arrays if there is none, and fills it.
+     *
+     * @param data The value to store.
+     * @param link The slot the new slot should link to.
+     * @return The slot number.
+     */
+    private int allocate(int data, int link) {
+        int slot;
+        if (freeHead != NIL) {
+            slot = freeHead;
+            freeHead = next[slot];
+        } else {
+            if (used == values.length) {
+                ensureCapacity(Math.max(used * 2, INITIAL_CAPACITY));
+            }
+            slot = used;
+            used++;
+        }
+        values[slot] = data;
+        next[slot] = link;
+        return slot;
+    }
+
+
+    /**
+     * Puts an unlinked slot on the free chain.
+     *
+     * @param slot The slot that was removed.
+     * @return The value that was stored in it.
+     */
+    private int release(int slot) {
+        next[slot] = freeHead;
+        freeHead = slot;
+        return values[slot];
+    }
+
+
+    /**
+     * Grows the backing arrays to hold at least {@code capacity} slots.
+     *
+     * @param capacity The number of slots needed.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+    }
+
+
+    /**
+     * Returns the slot at index, walking from the finger when it sits at or
+     * before index and from head otherwise, and leaves the finger there.
+     *
+     * @param index The index of the slot. Must already be bounds checked.
+     * @return The slot at that index.
+     */
+    private int slotAt(int index) {
+        if (index == size - 1) {
+            return tail;
+        }
+        int slot = head;
+        int count = 0;
+        if (finger != NIL && fingerIndex <= index) {
+            slot = finger;
+            count = fingerIndex;
+        }
+        while (count < index) {
+            slot = next[slot];
+            count++;
+        }
+        finger = slot;
+        fingerIndex = index;
+        return slot;
+    }
+}
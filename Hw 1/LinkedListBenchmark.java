@@ -0,0 +1,456 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Timing runs for the linked lists. Pass the names of the benchmarks to
+ * run, or nothing to run all of them:
+ *
+ * <pre>
+ *     java LinkedListBenchmark finger
+ * </pre>
+ *
+ * These are plain timing loops, not a harness like JMH. Each benchmark
+ * repeats its measurement for {@code ROUNDS} rounds so that the JIT has
+ * compiled the code by the later ones, and only those should be read.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public final class LinkedListBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    /**
+     * Not instantiable.
+     */
+    private LinkedListBenchmark() {
+    }
+
+
+    /**
+     * Runs the benchmarks named in {@code args}, or all of them.
+     *
+     * @param args the benchmark names
+     * @throws Exception if a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> names = Arrays.asList(args);
+        if (names.isEmpty() || names.contains("finger")) {
+            finger();
+        }
+        if (names.isEmpty() || names.contains("unrolled")) {
+            unrolled();
+        }
+        if (names.isEmpty() || names.contains("pool")) {
+            pool();
+        }
+        if (names.isEmpty() || names.contains("lockfree")) {
+            lockFree();
+        }
+        if (names.isEmpty() || names.contains("sort")) {
+            sort();
+        }
+        if (names.isEmpty() || names.contains("snapshot")) {
+            snapshot();
+        }
+    }
+
+
+    /**
+     * Times a {@code get(i)} loop over every index, which the positional
+     * finger turns from quadratic to linear. The quadratic column walks
+     * from the head for every index, the way {@code get} used to.
+     */
+    private static void finger() {
+        System.out.println("finger: get(i) for every index, ms");
+        System.out.println("    size    finger   walk from head");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int size = 25000; size <= 100000; size *= 2) {
+                SinglyLinkedList<Integer> list = filled(size);
+                long start = System.nanoTime();
+                long sum = 0;
+                for (int i = 0; i < size; i++) {
+                    sum += list.get(i);
+                }
+                double finger = millis(start);
+                start = System.nanoTime();
+                for (int i = 0; i < size; i++) {
+                    LinkedListNode<Integer> current = list.getHead();
+                    for (int j = 0; j < i; j++) {
+                        current = current.getNext();
+                    }
+                    sum -= current.getData();
+                }
+                double walk = millis(start);
+                check(sum == 0);
+                System.out.printf("%8d %9.1f %16.1f%n", size, finger, walk);
+            }
+        }
+    }
+
+
+    /**
+     * Compares the heap used per element, and the time to scan every
+     * element with {@code toArray} and a missed {@code contains}, for
+     * {@code SinglyLinkedList} and {@code UnrolledLinkedList}. The element
+     * objects are shared, so only the list structure is counted.
+     */
+    private static void unrolled() {
+        int size = 1000000;
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        Integer missing = -1;
+        System.out.println("unrolled: " + size + " elements");
+        System.out.println("    list        bytes/element  toArray ms"
+                + "  contains ms");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int kind = 0; kind < 2; kind++) {
+                long before = usedMemory();
+                LinkedListInterface<Integer> list = kind == 0
+                        ? new SinglyLinkedList<Integer>()
+                        : new UnrolledLinkedList<Integer>();
+                for (Integer value : values) {
+                    list.add(value);
+                }
+                double perElement = (usedMemory() - before) / (double) size;
+                long start = System.nanoTime();
+                check(list.toArray().length == size);
+                double toArray = millis(start);
+                start = System.nanoTime();
+                check(!list.contains(missing));
+                double contains = millis(start);
+                System.out.printf("    %-10s %14.1f %11.1f %12.1f%n",
+                        kind == 0 ? "singly" : "unrolled", perElement,
+                        toArray, contains);
+            }
+        }
+    }
+
+
+    /**
+     * Measures the bytes allocated and the time per {@code add} and
+     * {@code removeFromFront} pair on a list churning around 1000
+     * elements, with and without a node pool. The elements are boxed up
+     * front, so only node allocation is counted.
+     */
+    private static void pool() {
+        int ops = 2000000;
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        System.out.println("pool: " + ops + " add/removeFromFront pairs");
+        System.out.println("    pool     bytes/pair  ns/pair  hits");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int capacity : new int[] {0, 1024}) {
+                SinglyLinkedList<Integer> list =
+                        new SinglyLinkedList<Integer>(false, capacity);
+                for (int i = 0; i < 1000; i++) {
+                    list.add(values[i]);
+                }
+                long bytes = allocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < ops; i++) {
+                    list.add(values[i & 1023]);
+                    list.removeFromFront();
+                }
+                long nanos = System.nanoTime() - start;
+                bytes = allocatedBytes() - bytes;
+                check(list.size() == 1000);
+                System.out.printf("    %-8d %10.1f %8.1f %5d%n", capacity,
+                        bytes / (double) ops, nanos / (double) ops,
+                        list.getPoolHits());
+            }
+        }
+    }
+
+
+    /**
+     * Compares the throughput of {@code LockFreeLinkedList} with a
+     * {@code SinglyLinkedList} behind one lock, at 1, 2, 4 and 8 threads.
+     * Each thread repeats {@code add}, {@code removeFromFront},
+     * {@code addToFront} and {@code removeFromFront} on a list of about 64
+     * elements, with a {@code contains} every 16 iterations.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void lockFree() throws InterruptedException {
+        final int perThread = 200000;
+        final Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        System.out.println("lockfree: " + perThread + " iterations per"
+                + " thread, Mops/s");
+        System.out.println("    threads  lock-free  synchronized");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int threads = 1; threads <= 8; threads *= 2) {
+                final LockFreeLinkedList<Integer> lockFree =
+                        new LockFreeLinkedList<Integer>();
+                final SinglyLinkedList<Integer> locked =
+                        new SinglyLinkedList<Integer>();
+                for (int i = 0; i < 64; i++) {
+                    lockFree.add(values[i]);
+                    locked.add(values[i]);
+                }
+                long lockFreeNanos = timeThreads(threads, thread -> {
+                    for (int i = 0; i < perThread; i++) {
+                        Integer value = values[i & 1023];
+                        lockFree.add(value);
+                        lockFree.removeFromFront();
+                        lockFree.addToFront(value);
+                        lockFree.removeFromFront();
+                        if ((i & 15) == 0) {
+                            lockFree.contains(value);
+                        }
+                    }
+                });
+                long lockedNanos = timeThreads(threads, thread -> {
+                    for (int i = 0; i < perThread; i++) {
+                        Integer value = values[i & 1023];
+                        synchronized (locked) {
+                            locked.add(value);
+                        }
+                        synchronized (locked) {
+                            locked.removeFromFront();
+                        }
+                        synchronized (locked) {
+                            locked.addToFront(value);
+                        }
+                        synchronized (locked) {
+                            locked.removeFromFront();
+                        }
+                        if ((i & 15) == 0) {
+                            synchronized (locked) {
+                                locked.contains(value);
+                            }
+                        }
+                    }
+                });
+                check(lockFree.size() == 64 && locked.size() == 64);
+                long ops = 4L * perThread * threads;
+                System.out.printf("    %7d %10.1f %13.1f%n", threads,
+                        ops * 1e3 / lockFreeNanos, ops * 1e3 / lockedNanos);
+            }
+        }
+    }
+
+
+    /**
+     * Compares {@code sort} on 1M random Integers with copying them out,
+     * sorting the array and adding them back. Hw 7's {@code Sorting} is a
+     * separate module, so the copy-out side uses {@code Arrays.sort}, which
+     * is also a stable merge sort.
+     */
+    @SuppressWarnings("unchecked")
+    private static void sort() {
+        int size = 1000000;
+        Comparator<Integer> order = Comparator.naturalOrder();
+        System.out.println("sort: " + size + " random Integers");
+        System.out.println("    in place ms  MB    copy out ms  MB");
+        for (int round = 0; round < ROUNDS; round++) {
+            Random random = new Random(round);
+            SinglyLinkedList<Integer> inPlace = new SinglyLinkedList<Integer>();
+            SinglyLinkedList<Integer> copied = new SinglyLinkedList<Integer>();
+            for (int i = 0; i < size; i++) {
+                Integer value = random.nextInt();
+                inPlace.add(value);
+                copied.add(value);
+            }
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            inPlace.sort(order);
+            double sortMillis = millis(start);
+            double sortMegabytes = (allocatedBytes() - bytes) / 1e6;
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            Object[] array = copied.toArray();
+            Arrays.sort(array, (Comparator<Object>) (Comparator<?>) order);
+            copied.clear();
+            for (Object value : array) {
+                copied.add((Integer) value);
+            }
+            double copyMillis = millis(start);
+            double copyMegabytes = (allocatedBytes() - bytes) / 1e6;
+            check(Arrays.equals(inPlace.toArray(), copied.toArray()));
+            System.out.printf("    %11.0f %4.0f %14.0f %4.0f%n", sortMillis,
+                    sortMegabytes, copyMillis, copyMegabytes);
+        }
+    }
+
+
+    /**
+     * Times {@code writeSnapshot} and {@code readSnapshot} on 3M Integers
+     * against writing a text dump with one element per line and
+     * rebuilding the list from it with {@code add}.
+     *
+     * @throws IOException if a temporary file cannot be used
+     */
+    private static void snapshot() throws IOException {
+        int size = 3000000;
+        SinglyLinkedList<Integer> list = filled(size);
+        Path snapshot = Files.createTempFile("list", ".snapshot");
+        Path dump = Files.createTempFile("list", ".txt");
+        try {
+            System.out.println("snapshot: " + size + " Integers, ms");
+            System.out.println("    snapshot write  restore    text write"
+                    + "  re-add");
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                list.writeSnapshot(snapshot);
+                double write = millis(start);
+                start = System.nanoTime();
+                SinglyLinkedList<Integer> restored =
+                        SinglyLinkedList.readSnapshot(snapshot);
+                double restore = millis(start);
+                check(restored.size() == size);
+
+                start = System.nanoTime();
+                try (BufferedWriter out = Files.newBufferedWriter(dump,
+                        StandardCharsets.UTF_8)) {
+                    for (Integer value : list) {
+                        out.write(value.toString());
+                        out.newLine();
+                    }
+                }
+                double textWrite = millis(start);
+                start = System.nanoTime();
+                SinglyLinkedList<Integer> readded =
+                        new SinglyLinkedList<Integer>();
+                try (BufferedReader in = Files.newBufferedReader(dump,
+                        StandardCharsets.UTF_8)) {
+                    for (String line = in.readLine(); line != null;
+                            line = in.readLine()) {
+                        readded.add(Integer.valueOf(line));
+                    }
+                }
+                double readd = millis(start);
+                check(readded.size() == size);
+                System.out.printf("    %14.0f %8.0f %13.0f %7.0f%n", write,
+                        restore, textWrite, readd);
+            }
+        } finally {
+            Files.delete(snapshot);
+            Files.delete(dump);
+        }
+    }
+
+
+    /**
+     * Returns a list holding {@code 0} to {@code size - 1}.
+     *
+     * @param size the number of elements
+     * @return the list
+     */
+    private static SinglyLinkedList<Integer> filled(int size) {
+        SinglyLinkedList<Integer> list = new SinglyLinkedList<Integer>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+
+    /**
+     * Runs {@code body} on {@code threads} new threads at once and returns
+     * how long they took together.
+     *
+     * @param threads the number of threads
+     * @param body the work for each thread, given the thread's number
+     * @return the elapsed time in ns
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static long timeThreads(int threads, ThreadBody body)
+        throws InterruptedException {
+        Thread[] running = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            running[t] = new Thread(() -> body.run(thread));
+        }
+        long start = System.nanoTime();
+        for (Thread thread : running) {
+            thread.start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+
+    /**
+     * Returns the heap in use after collecting garbage.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+
+    /**
+     * Returns the bytes the current thread has allocated so far. Needs a
+     * HotSpot JVM.
+     *
+     * @return the allocated bytes
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+
+    /**
+     * Returns the milliseconds elapsed since {@code start}.
+     *
+     * @param start a {@code System.nanoTime} reading
+     * @return the elapsed time in ms
+     */
+    private static double millis(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+
+    /**
+     * Fails the benchmark if a result is wrong, which also keeps the JIT
+     * from dropping the work that produced it.
+     *
+     * @param ok whether the result is right
+     * @throws IllegalStateException if it is not
+     */
+    private static void check(boolean ok) {
+        if (!ok) {
+            throw new IllegalStateException("Benchmark result is wrong.");
+        }
+    }
+
+
+    /**
+     * The work one benchmark thread does.
+     */
+    private interface ThreadBody {
+
+        /**
+         * Does the work.
+         *
+         * @param thread the thread's number, from 0
+         */
+        void run(int thread);
+    }
+}
@@ -251,6 +251,42 @@ public class LinkedListStudentTests {
         assertEquals(traverse, list.getTail());
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testSpliceAndAddAllAtIndex() {
+        SinglyLinkedList<String> first = new SinglyLinkedList<>();
+        SinglyLinkedList<String> second = new SinglyLinkedList<>();
+        first.add("one");
+        first.add("two");
+        second.add("three");
+        second.add("four");
+
+        first.splice(second);
+        assertEquals(4, first.size());
+        assertEquals("four", first.getTail().getData());
+        assertTrue(second.isEmpty());
+        assertNull(second.getHead());
+        assertNull(second.getTail());
+
+        ArrayList<String> middle = new ArrayList<>();
+        middle.add("a");
+        middle.add("b");
+        first.addAllAtIndex(2, middle);
+        first.addAllAtIndex(6, middle);
+        assertArrayEquals(new Object[] {"one", "two", "a", "b", "three",
+            "four", "a", "b"}, first.toArray());
+        assertEquals("b", first.getTail().getData());
+        assertNull(first.getTail().getNext());
+
+        middle.add(null);
+        try {
+            first.addAllAtIndex(0, middle);
+            assertTrue("You did NOT properly implement "
+                    + "IllegalArgumentException.", false);
+        } catch (IllegalArgumentException e) {
+            assertEquals(8, first.size());
+        }
+    }
+
     @Test(timeout = TIMEOUT)
     public void testRemoveGeneral() {
         assertEquals(0, list.size());
@@ -388,6 +424,39 @@ public class LinkedListStudentTests {
         assertNull(curr);
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testBulkRemoval() {
+        SinglyLinkedList<String> words = new SinglyLinkedList<>();
+        words.add("apple");
+        words.add("fig");
+        words.add("kiwi");
+        words.add("pear");
+        words.add("plum");
+        words.add("lime");
+
+        assertEquals(2, words.removeIf(word -> word.startsWith("p")));
+        assertArrayEquals(new Object[] {"apple", "fig", "kiwi", "lime"},
+                words.toArray());
+        assertEquals("lime", words.getTail().getData());
+
+        ArrayList<String> remove = new ArrayList<>();
+        remove.add("apple");
+        remove.add("lime");
+        assertEquals(2, words.removeAll(remove));
+        assertEquals("fig", words.getHead().getData());
+        assertEquals("kiwi", words.getTail().getData());
+        assertEquals(2, words.size());
+
+        ArrayList<String> keep = new ArrayList<>();
+        keep.add("fig");
+        assertEquals(1, words.retainAll(keep));
+        assertEquals(words.getHead(), words.getTail());
+        assertEquals(0, words.retainAll(keep));
+        assertEquals(1, words.retainAll(new ArrayList<String>()));
+        assertTrue(words.isEmpty());
+        assertNull(words.getTail());
+    }
+
     @Test(timeout = TIMEOUT)
     public void testContains() {
         assertEquals(0, list.size());
@@ -421,6 +490,58 @@ public class LinkedListStudentTests {
         assertFalse(list.contains("pickles"));
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testIndexedContains() {
+        list = new SinglyLinkedList<>(true);
+        String one = "one";
+        String two = "two";
+        assertFalse(list.contains(one));
+
+        list.add(one);
+        list.addToFront(two);
+        list.addToIndex(1, one);
+        assertTrue(list.contains(one));
+        assertTrue(list.contains(two));
+
+        assertEquals(two, list.setAtIndex(0, one));
+        assertFalse(list.contains(two));
+
+        list.removeFromFront();
+        list.remove();
+        assertTrue(list.contains(one));
+        assertTrue(((SinglyLinkedList<String>) list)
+                .removeFirstOccurrence(one));
+        assertFalse(list.contains(one));
+        assertFalse(((SinglyLinkedList<String>) list)
+                .removeFirstOccurrence(one));
+        assertTrue(list.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testNodePool() {
+        SinglyLinkedList<String> pooled = new SinglyLinkedList<>(false, 2);
+        pooled.add("one");
+        pooled.add("two");
+        pooled.add("three");
+        assertEquals(0, pooled.getPoolHits());
+        assertEquals(3, pooled.getPoolMisses());
+
+        LinkedListNode<String> front = pooled.getHead();
+        assertEquals("one", pooled.removeFromFront());
+        assertNull(front.getData());
+        assertEquals("three", pooled.remove());
+        assertEquals("two", pooled.removeAtIndex(0));
+
+        pooled.add("four");
+        pooled.addToFront("five");
+        pooled.addToIndex(1, "six");
+        assertEquals(2, pooled.getPoolHits());
+        assertEquals(4, pooled.getPoolMisses());
+        assertArrayEquals(new Object[] {"five", "six", "four"},
+                pooled.toArray());
+        assertNull(pooled.getTail().getNext());
+    }
+
     @Test(timeout = TIMEOUT)
     public void testRemoveFromFront() {
         assertEquals(0, list.size());
@@ -475,6 +596,102 @@ public class LinkedListStudentTests {
         assertEquals("five", list.get(4));
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testSequentialIndexedAccess() {
+        for (int i = 0; i < 5000; i++) {
+            list.add("a" + i);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals("a" + i, list.get(i));
+        }
+
+        list.addToIndex(10, "ten");
+        assertEquals("a9", list.get(9));
+        assertEquals("ten", list.get(10));
+        assertEquals("a10", list.get(11));
+
+        list.addToFront("front");
+        assertEquals("ten", list.get(11));
+
+        assertEquals("ten", list.removeAtIndex(11));
+        assertEquals("a10", list.get(11));
+
+        assertEquals("front", list.removeFromFront());
+        assertEquals("a10", list.get(10));
+        assertEquals("a4999", list.remove());
+        assertEquals("a4998", list.get(list.size() - 1));
+        assertEquals(4999, list.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnrolledLinkedList() {
+        list = new UnrolledLinkedList<>();
+        String[] expectedItems = new String[100];
+        for (int x = 0; x < expectedItems.length; x++) {
+            expectedItems[x] = "a" + x;
+            list.add(expectedItems[x]);
+        }
+        assertEquals(100, list.size());
+        assertArrayEquals(expectedItems, list.toArray());
+        assertTrue(list.contains(expectedItems[57]));
+        assertFalse(list.contains("a57"));
+
+        list.addToIndex(40, "forty");
+        list.addToFront("front");
+        assertEquals("forty", list.get(41));
+        assertEquals("a39", list.get(40));
+        assertEquals("a99", list.get(101));
+
+        for (int x = 0; x < 60; x++) {
+            list.removeAtIndex(1);
+        }
+        assertEquals("front", list.removeFromFront());
+        assertEquals("a59", list.get(0));
+        assertEquals("a99", list.remove());
+        assertEquals(40, list.size());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertNull(list.removeFromFront());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIndexableSkipList() {
+        list = new IndexableSkipList<>();
+        for (int x = 0; x < 20; x++) {
+            list.add("a" + x);
+        }
+        list.addToIndex(10, "middle");
+        list.addToFront("front");
+        assertEquals(22, list.size());
+        assertEquals("front", list.get(0));
+        assertEquals("middle", list.get(11));
+        assertEquals("a10", list.get(12));
+        assertEquals("a19", list.get(21));
+
+        assertEquals("middle", list.setAtIndex(11, "center"));
+        assertEquals("center", list.removeAtIndex(11));
+        assertEquals("a10", list.get(11));
+        assertEquals("front", list.removeFromFront());
+        assertEquals("a19", list.remove());
+        assertEquals(19, list.size());
+
+        try {
+            list.get(19);
+            assertTrue("You did NOT properly implement "
+                    + "IndexOutOfBoundsException.", false);
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(true);
+        }
+        try {
+            list.addToIndex(0, null);
+            assertTrue("You did NOT properly implement "
+                    + "IllegalArgumentException.", false);
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
+
     @Test(timeout = TIMEOUT)
     public void testClearAndIsEmpty() {
         list.addToIndex(0, "one");
@@ -558,6 +775,290 @@ public class LinkedListStudentTests {
 
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testIteratorAndStream() {
+        SinglyLinkedList<String> iterable = new SinglyLinkedList<>();
+        String[] expectedItems = new String[3000];
+        for (int x = 0; x < expectedItems.length; x++) {
+            expectedItems[x] = "a" + x;
+            iterable.add(expectedItems[x]);
+        }
+
+        int count = 0;
+        for (String data : iterable) {
+            assertEquals(expectedItems[count], data);
+            count++;
+        }
+        assertEquals(expectedItems.length, count);
+        assertArrayEquals(expectedItems,
+                iterable.parallelStream().toArray());
+        assertEquals(expectedItems.length, iterable.spliterator()
+                .getExactSizeIfKnown());
+
+        try {
+            for (String data : iterable) {
+                iterable.removeFromFront();
+            }
+            assertTrue("Iterator did not fail fast.", false);
+        } catch (java.util.ConcurrentModificationException e) {
+            assertTrue(true);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntLinkedList() {
+        IntLinkedList ints = new IntLinkedList(2);
+        for (int x = 0; x < 10; x++) {
+            ints.add(x);
+        }
+        ints.addToFront(-1);
+        ints.addToIndex(5, 100);
+        assertEquals(12, ints.size());
+        assertEquals(-1, ints.get(0));
+        assertEquals(100, ints.get(5));
+        assertEquals(4, ints.get(6));
+        assertTrue(ints.contains(100));
+
+        assertEquals(100, ints.removeAtIndex(5));
+        assertEquals(-1, ints.removeFromFront());
+        assertEquals(9, ints.remove());
+        assertEquals(3, ints.setAtIndex(3, 33));
+        assertArrayEquals(new int[] {0, 1, 2, 33, 4, 5, 6, 7, 8},
+                ints.toArray());
+
+        ints.clear();
+        assertTrue(ints.isEmpty());
+        try {
+            ints.removeFromFront();
+            assertTrue("You did NOT properly implement "
+                    + "NoSuchElementException.", false);
+        } catch (java.util.NoSuchElementException e) {
+            assertTrue(true);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLockFreeLinkedList() throws InterruptedException {
+        final LockFreeLinkedList<String> shared = new LockFreeLinkedList<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                for (int x = 0; x < 250; x++) {
+                    shared.add(id + ":" + x);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, shared.size());
+        assertEquals(1000, shared.toArray().length);
+
+        shared.clear();
+        shared.add("two");
+        shared.addToFront("one");
+        shared.addToIndex(2, "three");
+        assertEquals("two", shared.get(1));
+        assertEquals("three", shared.remove());
+        assertEquals("one", shared.removeFromFront());
+        assertEquals("two", shared.removeAtIndex(0));
+        assertTrue(shared.isEmpty());
+        assertNull(shared.removeFromFront());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLockFreeLinkedListFront() throws InterruptedException {
+        final LockFreeLinkedList<Integer> shared = new LockFreeLinkedList<>();
+        final int count = 5000;
+        final boolean[] seenAfterNext = new boolean[count];
+        // the producer only adds to the front, so a newer element is always
+        // in front of an older one
+        Thread producer = new Thread(() -> {
+            for (int x = 0; x < count; x++) {
+                shared.addToFront(x);
+                if (x > 0) {
+                    seenAfterNext[x - 1] = shared.contains(x - 1);
+                }
+            }
+        });
+        producer.start();
+        int[] order = new int[count];
+        java.util.Arrays.fill(order, -1);
+        int taken = 0;
+        while (taken < count) {
+            Integer front = shared.removeFromFront();
+            if (front == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(-1, order[front]);
+            order[front] = taken++;
+        }
+        producer.join();
+        // x - 1 was still in the list after x was added in front of it, so
+        // x has to come off the front first
+        for (int x = 1; x < count; x++) {
+            if (seenAfterNext[x - 1]) {
+                assertTrue(order[x] < order[x - 1]);
+            }
+        }
+        assertTrue(shared.isEmpty());
+        assertEquals(0, shared.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSort() {
+        SinglyLinkedList<String> sorted = new SinglyLinkedList<>();
+        sorted.add("pear");
+        sorted.add("fig");
+        sorted.add("apple");
+        sorted.add("kiwi");
+        sorted.add("plum");
+
+        sorted.sort((a, b) -> a.length() - b.length());
+        assertArrayEquals(new Object[] {"fig", "pear", "kiwi", "plum",
+            "apple"}, sorted.toArray());
+        assertEquals("apple", sorted.getTail().getData());
+        assertNull(sorted.getTail().getNext());
+
+        sorted.sort(String::compareTo);
+        assertArrayEquals(new Object[] {"apple", "fig", "kiwi", "pear",
+            "plum"}, sorted.toArray());
+        assertEquals("plum", sorted.getTail().getData());
+        assertEquals("kiwi", sorted.get(2));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPersistentList() {
+        PersistentList<String> empty = PersistentList.empty();
+        PersistentList<String> one = empty.addToFront("one");
+        PersistentList<String> two = one.addToFront("two");
+        PersistentList<String> snapshot = two.snapshot();
+        PersistentList<String> three = two.add("three");
+
+        assertTrue(empty.isEmpty());
+        assertArrayEquals(new Object[] {"one"}, one.toArray());
+        assertArrayEquals(new Object[] {"two", "one"}, snapshot.toArray());
+        assertArrayEquals(new Object[] {"two", "one", "three"},
+                three.toArray());
+
+        assertEquals("two", three.getFirst());
+        assertArrayEquals(new Object[] {"one", "three"},
+                three.removeFromFront().toArray());
+        assertArrayEquals(new Object[] {"two", "uno", "three"},
+                three.setAtIndex(1, "uno").toArray());
+        assertArrayEquals(new Object[] {"two", "three"},
+                three.removeAtIndex(1).toArray());
+        assertEquals("one", three.get(1));
+        assertEquals(3, three.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSnapshotRoundTrip() throws java.io.IOException {
+        for (int x = 0; x < 1000; x++) {
+            list.add("a" + x);
+        }
+        java.nio.file.Path path = java.nio.file.Files.createTempFile(
+                "list", ".snapshot");
+        try {
+            ((SinglyLinkedList<String>) list).writeSnapshot(path);
+            SinglyLinkedList<String> restored =
+                    SinglyLinkedList.readSnapshot(path);
+            assertEquals(1000, restored.size());
+            assertArrayEquals(list.toArray(), restored.toArray());
+            assertEquals("a999", restored.getTail().getData());
+            assertNull(restored.getTail().getNext());
+        } finally {
+            java.nio.file.Files.delete(path);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSnapshotCorrupt() throws java.io.IOException {
+        list.add("a");
+        java.nio.file.Path path = java.nio.file.Files.createTempFile(
+                "list", ".snapshot");
+        try {
+            // after the 8 byte header: the tag byte, then the length prefix
+            int[][] corruptions = {{9, -1}, {9, Integer.MAX_VALUE},
+                {8, 0x7F000000}};
+            for (int[] corruption : corruptions) {
+                ((SinglyLinkedList<String>) list).writeSnapshot(path);
+                try (java.nio.channels.FileChannel channel =
+                        java.nio.channels.FileChannel.open(path,
+                                java.nio.file.StandardOpenOption.WRITE)) {
+                    channel.write(java.nio.ByteBuffer.allocate(4)
+                            .putInt(0, corruption[1]), corruption[0]);
+                }
+                try {
+                    SinglyLinkedList.readSnapshot(path);
+                    assertTrue(false);
+                } catch (java.io.IOException e) {
+                    assertNotNull(e.getMessage());
+                }
+            }
+        } finally {
+            java.nio.file.Files.delete(path);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGapBufferList() {
+        list = new GapBufferList<>(2);
+        list.add("a");
+        list.add("e");
+        list.addToIndex(1, "b");
+        list.addToIndex(2, "c");
+        list.addToIndex(3, "d");
+        list.addToFront("front");
+        assertArrayEquals(new Object[] {"front", "a", "b", "c", "d", "e"},
+                list.toArray());
+
+        assertEquals("c", list.removeAtIndex(3));
+        assertEquals("b", list.removeAtIndex(2));
+        assertEquals("d", list.get(2));
+        assertEquals("d", list.setAtIndex(2, "dee"));
+        assertEquals("e", list.remove());
+        assertEquals("front", list.removeFromFront());
+        assertArrayEquals(new Object[] {"a", "dee"}, list.toArray());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertNull(list.remove());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testInstrumentedList() {
+        InstrumentedList<String> instrumented =
+                new InstrumentedList<>(new SinglyLinkedList<>());
+        for (int x = 0; x < 10; x++) {
+            instrumented.add("a" + x);
+        }
+        assertEquals("a5", instrumented.get(5));
+        assertEquals("a0", instrumented.get(0));
+        assertEquals("a9", instrumented.get(9));
+        instrumented.addToIndex(3, "three");
+
+        assertEquals(10, instrumented.getCount(InstrumentedList.Operation.ADD));
+        assertEquals(3, instrumented.getCount(InstrumentedList.Operation.GET));
+        assertEquals(11, instrumented.getAllocations());
+        assertEquals(8, instrumented.getNodeHops());
+
+        long total = 0;
+        for (long bucket : instrumented.getLatencyHistogram(
+                InstrumentedList.Operation.GET)) {
+            total += bucket;
+        }
+        assertEquals(3, total);
+
+        instrumented.reset();
+        assertEquals(0, instrumented.getNodeHops());
+        assertEquals(0, instrumented.getCount(InstrumentedList.Operation.GET));
+        assertEquals(11, instrumented.size());
+    }
+
     @Test(timeout = TIMEOUT)
     public void testToArray() {
         String[] expectedItems = new String[10];
@@ -0,0 +1,473 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free singly linked list that many threads can use at once.
+ *
+ * Removal follows Harris: a node is first logically deleted by marking its
+ * own next reference, and only then unlinked from its predecessor. Any
+ * thread that runs into a marked node helps unlink it. An unmarked node is
+ * therefore always reachable from the head sentinel.
+ *
+ * Each node's next reference and mark live together in an immutable
+ * {@code Link}, and every change installs a new one, so a CAS on a link
+ * fails if anything about it changed since it was read. To remove from the
+ * front, a thread first freezes the head sentinel's link, which stops any
+ * insertion in front of the first node, and then marks that node. Any
+ * thread that finds the head frozen finishes the removal for it, so no
+ * thread ever waits on another. The freezing link also records itself as
+ * the remover in the mark, which is how the freezing thread learns whether
+ * the node was deleted for it or by a competing removal.
+ *
+ * {@code add}, {@code addToFront}, {@code removeFromFront}, {@code remove}
+ * and {@code contains} are linearizable. The positional operations count
+ * live nodes during a traversal, so they are only weakly consistent while
+ * other threads are mutating the list. {@code size} and {@code clear} are
+ * also weakly consistent.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class LockFreeLinkedList<T> implements LinkedListInterface<T> {
+
+    private final Node<T> head = new Node<T>(null);
+    private final AtomicReference<Node<T>> tail =
+            new AtomicReference<Node<T>>(head);
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Override
+    public void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        Node<T> create = new Node<T>(data);
+        while (true) {
+            Node<T> last = tail.get();
+            Link<T> link = last.link.get();
+            if (link.next != null) {
+                tail.compareAndSet(last, link.next);
+            } else if (link.marked) {
+                // the tail hint was deleted, so find the real last node
+                tail.compareAndSet(last, findLast());
+            } else if (last.link.compareAndSet(link, new Link<T>(create))) {
+                tail.compareAndSet(last, create);
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public void addToIndex(int index, T data) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        } else if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        Node<T> create = new Node<T>(data);
+        while (true) {
+            Node<T> previous = index == 0 ? head : liveNodeAt(index - 1);
+            if (previous == null) {
+                throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+            }
+            Link<T> link = previous.link.get();
+            if (link.frozen) {
+                finishFrontRemoval(link);
+                continue;
+            }
+            if (link.marked) {
+                continue;
+            }
+            create.link.set(new Link<T>(link.next));
+            if (previous.link.compareAndSet(link, new Link<T>(create))) {
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public void addToFront(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot have null data.");
+        }
+        Node<T> create = new Node<T>(data);
+        while (true) {
+            Link<T> link = head.link.get();
+            if (link.frozen) {
+                // inserting now would put create in front of the node
+                // being removed, so finish that removal first
+                finishFrontRemoval(link);
+                continue;
+            }
+            create.link.set(new Link<T>(link.next));
+            if (head.link.compareAndSet(link, new Link<T>(create))) {
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public void addAll(Collection<T> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        for (T item : collection) {
+            add(item);
+        }
+    }
+
+
+    @Override
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        for (Node<T> current = head.link.get().next; current != null;
+                current = current.link.get().next) {
+            if (current.data == data && !current.link.get().marked) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    @Override
+    public T get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        Node<T> current = liveNodeAt(index);
+        if (current == null) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        return current.data;
+    }
+
+
+    @Override
+    public T remove() {
+        while (true) {
+            Node<T> last = findLast();
+            if (last == head) {
+                return null;
+            }
+            Link<T> link = last.link.get();
+            if (link.next == null && !link.marked
+                    && last.link.compareAndSet(link, link.mark(null))) {
+                findLast();
+                size.decrementAndGet();
+                return last.data;
+            }
+        }
+    }
+
+
+    @Override
+    public T removeAtIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt in our LL.");
+        }
+        while (true) {
+            Node<T> current = liveNodeAt(index);
+            if (current == null) {
+                throw new IndexOutOfBoundsException("That index isnt in our"
+                        + " LL.");
+            }
+            Link<T> link = current.link.get();
+            if (!link.marked
+                    && current.link.compareAndSet(link, link.mark(null))) {
+                findLast();
+                size.decrementAndGet();
+                return current.data;
+            }
+        }
+    }
+
+
+    /**
+     * Removes the first live node. The head is frozen before the node is
+     * marked, so nothing can be inserted in front of it in between and the
+     * node is still the front when it is deleted.
+     *
+     * @return the data from the front node, or null if the list is empty
+     */
+    @Override
+    public T removeFromFront() {
+        while (true) {
+            Link<T> headLink = head.link.get();
+            if (headLink.frozen) {
+                finishFrontRemoval(headLink);
+                continue;
+            }
+            Node<T> first = headLink.next;
+            if (first == null) {
+                return null;
+            }
+            Link<T> firstLink = first.link.get();
+            if (firstLink.marked) {
+                head.link.compareAndSet(headLink,
+                        new Link<T>(firstLink.next));
+                continue;
+            }
+            Link<T> freeze = headLink.freeze();
+            if (head.link.compareAndSet(headLink, freeze)) {
+                finishFrontRemoval(freeze);
+                if (first.link.get().remover == freeze) {
+                    size.decrementAndGet();
+                    return first.data;
+                }
+            }
+        }
+    }
+
+
+    @Override
+    public T setAtIndex(int index, T data) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null.");
+        }
+        Node<T> current = liveNodeAt(index);
+        if (current == null) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        T replaced = current.data;
+        current.data = data;
+        return replaced;
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        ArrayList<T> live = new ArrayList<T>();
+        for (Node<T> current = head.link.get().next; current != null;
+                current = current.link.get().next) {
+            if (!current.link.get().marked) {
+                live.add(current.data);
+            }
+        }
+        return live.toArray();
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return liveNodeAt(0) == null;
+    }
+
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+
+    /**
+     * Clears the list by removing from the front until it is empty. This is
+     * O(n) rather than O(1) so that a concurrent {@code add} can never land
+     * on a node that has just been cut off.
+     */
+    @Override
+    public void clear() {
+        while (removeFromFront() != null) {
+            // keep removing
+        }
+    }
+
+
+    /**
+     * Walks from the head, counting only unmarked nodes.
+     *
+     * @param index The number of live nodes to skip.
+     * @return The live node at that index, or null if there are not enough.
+     */
+    private Node<T> liveNodeAt(int index) {
+        int count = 0;
+        for (Node<T> current = head.link.get().next; current != null;
+                current = current.link.get().next) {
+            if (!current.link.get().marked) {
+                if (count == index) {
+                    return current;
+                }
+                count++;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Walks the whole list, unlinking every marked node it passes, and
+     * returns the last unmarked node.
+     *
+     * @return The last live node, or the head sentinel if there is none.
+     */
+    private Node<T> findLast() {
+        retry:
+        while (true) {
+            Node<T> previous = head;
+            Link<T> previousLink = head.link.get();
+            Node<T> current = previousLink.next;
+            while (current != null) {
+                Link<T> link = current.link.get();
+                if (link.marked) {
+                    // replacing a frozen head link here is fine, its node
+                    // is already deleted and the mark names the remover
+                    Link<T> unlinked = new Link<T>(link.next);
+                    if (!previous.link.compareAndSet(previousLink,
+                            unlinked)) {
+                        continue retry;
+                    }
+                    previousLink = unlinked;
+                } else {
+                    previous = current;
+                    previousLink = link;
+                }
+                current = link.next;
+            }
+            return previous;
+        }
+    }
+
+
+    /**
+     * Completes the front removal that froze the head with {@code freeze}:
+     * marks the frozen first node, unless another removal already has, and
+     * then unlinks it, which unfreezes the head.
+     *
+     * @param freeze the frozen head link
+     */
+    private void finishFrontRemoval(Link<T> freeze) {
+        Node<T> first = freeze.next;
+        while (true) {
+            Link<T> link = first.link.get();
+            if (link.marked) {
+                head.link.compareAndSet(freeze, new Link<T>(link.next));
+                return;
+            }
+            first.link.compareAndSet(link, link.mark(freeze));
+        }
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getHead() {
+        throw new UnsupportedOperationException("LockFreeLinkedList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getTail() {
+        throw new UnsupportedOperationException("LockFreeLinkedList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * A list node. Its next reference and logical-delete mark are held in
+     * the current {@code Link}.
+     */
+    private static class Node<T> {
+        private volatile T data;
+        private final AtomicReference<Link<T>> link =
+                new AtomicReference<Link<T>>(new Link<T>(null));
+
+        /**
+         * Creates an unlinked node.
+         *
+         * @param data the data to store in this node
+         */
+        Node(T data) {
+            this.data = data;
+        }
+    }
+
+
+    /**
+     * An immutable next reference with its state. A marked link belongs to
+     * a deleted node and never changes again. Only the head sentinel's link
+     * is ever frozen.
+     */
+    private static final class Link<T> {
+        private final Node<T> next;
+        private final boolean marked;
+        private final boolean frozen;
+        private final Link<T> remover;
+
+        /**
+         * Creates a live link to {@code next}.
+         *
+         * @param next the next node, or null at the end of the list
+         */
+        Link(Node<T> next) {
+            this(next, false, false, null);
+        }
+
+
+        /**
+         * Creates a link with the given state.
+         *
+         * @param next the next node, or null at the end of the list
+         * @param marked whether the node owning this link is deleted
+         * @param frozen whether a front removal is in progress
+         * @param remover the freezing link that deleted the node, if any
+         */
+        private Link(Node<T> next, boolean marked, boolean frozen,
+                     Link<T> remover) {
+            this.next = next;
+            this.marked = marked;
+            this.frozen = frozen;
+            this.remover = remover;
+        }
+
+
+        /**
+         * Returns the marked copy of this link.
+         *
+         * @param by the freezing link deleting the node, or null
+         * @return the marked link
+         */
+        Link<T> mark(Link<T> by) {
+            return new Link<T>(next, true, false, by);
+        }
+
+
+        /**
+         * Returns the frozen copy of this link.
+         *
+         * @return the frozen link
+         */
+        Link<T> freeze() {
+            return new Link<T>(next, false, true, null);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable singly linked list. Every "mutator" returns a new version
+ * and leaves the old one untouched, with the versions sharing whatever
+ * suffix of nodes they have in common.
+ *
+ * {@code addToFront} and {@code removeFromFront} are O(1) and share the
+ * whole rest of the list. Changes at index i copy only the first i nodes.
+ * Since nothing is ever modified, any version can be read by any number of
+ * threads without locking, and {@code snapshot} is free. A writer publishes
+ * new versions by storing them in a volatile field.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public final class PersistentList<T> implements Iterable<T> {
+
+    private static final PersistentList<?> EMPTY =
+            new PersistentList<Object>(null, 0);
+
+    private final Cons<T> head;
+    private final int size;
+
+    /**
+     * Creates a version with the given first node and size.
+     *
+     * @param head the first node, null if empty
+     * @param size the number of nodes reachable from head
+     */
+    private PersistentList(Cons<T> head, int size) {
+        this.head = head;
+        this.size = size;
+    }
+
+
+    /**
+     * Returns the empty list.
+     *
+     * @param <T> the type of data in the list
+     * @return the empty list
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+
+    /**
+     * Returns a version with {@code data} added to the front.
+     *
+     * Should be O(1).
+     *
+     * @param data The data to add.
+     * @return The new version.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public PersistentList<T> addToFront(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot have null data.");
+        }
+        return new PersistentList<T>(new Cons<T>(data, head), size + 1);
+    }
+
+
+    /**
+     * Returns a version with {@code data} added to the end.
+     *
+     * Must be O(n), since every node has to be copied.
+     *
+     * @param data The data to add.
+     * @return The new version.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public PersistentList<T> add(T data) {
+        return addToIndex(size, data);
+    }
+
+
+    /**
+     * Returns a version with {@code data} inserted at index. The nodes from
+     * index onward are shared with this version.
+     *
+     * Should be O(index).
+     *
+     * @param index The index the new data ends up at.
+     * @param data The data to add.
+     * @return The new version.
+     * @throws java.lang.IndexOutOfBoundsException if index is negative
+     * or index > size.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public PersistentList<T> addToIndex(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        } else if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        return rebuild(index, new Cons<T>(data, nodeAt(index)), size + 1);
+    }
+
+
+    /**
+     * Returns the first element.
+     *
+     * Should be O(1).
+     *
+     * @return The data at the front.
+     * @throws java.util.NoSuchElementException if the list is empty.
+     */
+    public T getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        return head.data;
+    }
+
+
+    /**
+     * Returns a version without the first element.
+     *
+     * Should be O(1).
+     *
+     * @return The new version.
+     * @throws java.util.NoSuchElementException if the list is empty.
+     */
+    public PersistentList<T> removeFromFront() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        return head.next == null ? PersistentList.<T>empty()
+                : new PersistentList<T>(head.next, size - 1);
+    }
+
+
+    /**
+     * Returns a version without the element at index. The nodes after index
+     * are shared with this version.
+     *
+     * Should be O(index).
+     *
+     * @param index The index of the element.
+     * @return The new version.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size.
+     */
+    public PersistentList<T> removeAtIndex(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("That index isnt in our LL.");
+        }
+        return rebuild(index, nodeAt(index).next, size - 1);
+    }
+
+
+    /**
+     * Returns a version with the element at index replaced by {@code data}.
+     *
+     * Should be O(index).
+     *
+     * @param index The index to replace.
+     * @param data The new data.
+     * @return The new version.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public PersistentList<T> setAtIndex(int index, T data) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null.");
+        }
+        return rebuild(index, new Cons<T>(data, nodeAt(index).next), size);
+    }
+
+
+    /**
+     * Returns the element at the given index.
+     *
+     * Should be O(index).
+     *
+     * @param index The index of the element.
+     * @return The data at that index.
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+     * index >= size.
+     */
+    public T get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        return nodeAt(index).data;
+    }
+
+
+    /**
+     * Returns whether the list contains {@code data}.
+     *
+     * Should be O(n).
+     *
+     * @param data The data to look for.
+     * @return True if data is found. False otherwise.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        for (Cons<T> current = head; current != null;
+                current = current.next) {
+            if (current.data == data) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns this version. Versions never change, so a snapshot is just
+     * another reference to the same list.
+     *
+     * Should be O(1).
+     *
+     * @return This list.
+     */
+    public PersistentList<T> snapshot() {
+        return this;
+    }
+
+
+    /**
+     * Returns the list represented as an array of objects.
+     *
+     * Must be O(n).
+     *
+     * @return An array of length {@code size} in list order.
+     */
+    public Object[] toArray() {
+        Object[] listArray = new Object[size];
+        Cons<T> current = head;
+        for (int count = 0; count < size; count++) {
+            listArray[count] = current.data;
+            current = current.next;
+        }
+        return listArray;
+    }
+
+
+    /**
+     * Returns whether the list is empty.
+     *
+     * @return True if empty. False otherwise.
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Returns an iterator over this version from front to back. No locking
+     * is needed since the version cannot change underneath it.
+     *
+     * @return An iterator over the data in the list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Cons<T> current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException("No more elements.");
+                }
+                T data = current.data;
+                current = current.next;
+                return data;
+            }
+        };
+    }
+
+
+    /**
+     * Returns the node at index, or null if index is {@code size}.
+     *
+     * @param index The index of the node.
+     * @return The node at that index.
+     */
+    private Cons<T> nodeAt(int index) {
+        Cons<T> current = head;
+        for (int i = 0; i < index; i++) {
+            current = current.next;
+        }
+        return current;
+    }
+
+
+    /**
+     * Copies the first {@code count} nodes of this version in front of
+     * {@code rest}.
+     *
+     * @param count The number of leading nodes to copy.
+     * @param rest The chain the copies should lead into.
+     * @param newSize The size of the resulting version.
+     * @return The new version.
+     */
+    @SuppressWarnings("unchecked")
+    private PersistentList<T> rebuild(int count, Cons<T> rest, int newSize) {
+        if (newSize == 0) {
+            return empty();
+        }
+        Object[] prefix = new Object[count];
+        Cons<T> current = head;
+        for (int i = 0; i < count; i++) {
+            prefix[i] = current.data;
+            current = current.next;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            rest = new Cons<T>((T) prefix[i], rest);
+        }
+        return new PersistentList<T>(rest, newSize);
+    }
+
+
+    /**
+     * An immutable list node.
+     */
+    private static final class Cons<T> {
+        private final T data;
+        private final Cons<T> next;
+
+        /**
+         * Creates a node in front of {@code next}.
+         *
+         * @param data the data to store in this node
+         * @param next the node after this one
+         */
+        Cons(T data, Cons<T> next) {
+            this.data = data;
+            this.next = next;
+        }
+    }
+}
@@ -1,5 +1,28 @@
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Your implementation of a SinglyLinkedList.
@@ -7,28 +30,102 @@ import java.util.Collection;
  * @author Henry Leung
  * @version 1.0
  */
-public class SinglyLinkedList<T> implements LinkedListInterface<T> {
+public class SinglyLinkedList<T> implements LinkedListInterface<T>,
+        Iterable<T> {
 
     // DO NOT ALTER OR ADD INSTANCE VARIABLES
     private LinkedListNode<T> head;
     private LinkedListNode<T> tail;
     private int size;
 
+    // Last node reached by a positional lookup and its index, so sequential
+    // or nearby indexed access resumes from here instead of from head.
+    private LinkedListNode<T> finger;
+    private int fingerIndex;
+
+    // Binary snapshot format: a header of magic and element count, then
+    // one tag byte and payload per element.
+    private static final int SNAPSHOT_MAGIC = 0x534C4C31;
+    private static final int SNAPSHOT_BLOCK = 1 << 16;
+    private static final byte TAG_INTEGER = 0;
+    private static final byte TAG_LONG = 1;
+    private static final byte TAG_DOUBLE = 2;
+    private static final byte TAG_STRING = 3;
+    private static final byte TAG_SERIALIZED = 4;
+
+    // Number of structural changes, checked by iterators to fail fast.
+    private int modCount;
+
+    // Occurrence count of each element, keyed by reference like contains.
+    // Only kept when the list is constructed in indexed mode.
+    private IdentityHashMap<T, Integer> occurrences;
+
+    // Removed nodes kept for reuse by later adds, chained through next.
+    private LinkedListNode<T> freeNodes;
+    private int freeCount;
+    private int poolCapacity;
+    private long poolHits;
+    private long poolMisses;
+
+    /**
+     * Constructs an empty list without a membership index.
+     */
+    public SinglyLinkedList() {
+        this(false);
+    }
+
+
+    /**
+     * Constructs an empty list. In indexed mode the list also keeps an
+     * occurrence count per element, which makes {@code contains} O(1) at the
+     * cost of a hash update on every add and remove.
+     *
+     * @param indexed whether to keep the membership index
+     */
+    public SinglyLinkedList(boolean indexed) {
+        this(indexed, 0);
+    }
+
+
+    /**
+     * Constructs an empty list that recycles up to {@code poolCapacity}
+     * removed nodes for later adds. Recycled nodes have their data cleared
+     * as soon as they are removed, so do not hold on to nodes taken from
+     * {@code getHead} or {@code getTail} across a removal.
+     *
+     * @param indexed whether to keep the membership index
+     * @param poolCapacity the most removed nodes to keep, 0 to disable
+     * @throws java.lang.IllegalArgumentException if poolCapacity is negative.
+     */
+    public SinglyLinkedList(boolean indexed, int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("Pool capacity cannot be"
+                    + " negative.");
+        }
+        if (indexed) {
+            occurrences = new IdentityHashMap<T, Integer>();
+        }
+        this.poolCapacity = poolCapacity;
+    }
+
     @Override
     public void add(T data) {
         if (data == null) {
             throw new IllegalArgumentException("Cannot use null data.");
         }
-        LinkedListNode<T> create = new LinkedListNode<T>(data);
+        LinkedListNode<T> create = newNode(data, null);
         if (head == null) {
             head = create;
             tail = head;
             size++;
+            modCount++;
         } else {
             tail.setNext(create);
             tail = create;
             size++;
+            modCount++;
         }
+        indexAdd(data);
     }
 
 
@@ -43,23 +140,16 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
         if (index == 0) {
             addToFront(data);
         } else if (index == size) {
-            LinkedListNode<T> another = new LinkedListNode<T>(data);
-            tail.setNext(another);
-            tail = another;
-            size++;
+            add(data);
         } else {
-            int count = 0;
-            LinkedListNode<T> current = head;
-            LinkedListNode<T> previous = head;
-            while (count < index) {
-                previous = current;
-                current = current.getNext();
-                count++;
-            }
-            LinkedListNode<T> create = new LinkedListNode<T>(data);
-            create.setNext(current);
+            LinkedListNode<T> previous = nodeAt(index - 1);
+            LinkedListNode<T> create = newNode(data, previous.getNext());
             previous.setNext(create);
             size++;
+            modCount++;
+            indexAdd(data);
+            finger = create;
+            fingerIndex = index;
         }
     }
 
@@ -70,14 +160,20 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
             throw new IllegalArgumentException("Cannot have null data.");
         }
         if (head == null) {
-            LinkedListNode<T> create = new LinkedListNode<T>(data);
+            LinkedListNode<T> create = newNode(data, null);
             head = create;
             tail = create;
             size++;
+            modCount++;
         } else {
-            LinkedListNode<T> create = new LinkedListNode<T>(data, head);
+            LinkedListNode<T> create = newNode(data, head);
             head = create;
             size++;
+            modCount++;
+        }
+        indexAdd(data);
+        if (finger != null) {
+            fingerIndex++;
         }
     }
 
@@ -87,9 +183,112 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
         if (collection == null) {
             throw new IllegalArgumentException("Collection is null.");
         }
+        addAllAtIndex(size, collection);
+    }
+
+
+    /**
+     * Inserts all the data from the collection, in order, starting at index.
+     * The new nodes are chained together off the list first and then linked
+     * in with a single walk to index.
+     *
+     * Should be O(1 + m) if index is 0 or {@code size}, where m is the size
+     * of the collection. Should be O(n + m) otherwise.
+     *
+     * @param index The index the first element of the collection ends up at.
+     * @param collection The data to insert.
+     * @throws java.lang.IndexOutOfBoundsException if index is negative
+     * or index > size.
+     * @throws java.lang.IllegalArgumentException if collection is null or
+     * contains null data. The list is left unchanged in that case.
+     */
+    public void addAllAtIndex(int index, Collection<T> collection) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        } else if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        for (T item : collection) {
+            if (item == null) {
+                throw new IllegalArgumentException("Cannot use null data.");
+            }
+        }
+        if (collection.isEmpty()) {
+            return;
+        }
+        LinkedListNode<T> chainHead = null;
+        LinkedListNode<T> chainTail = null;
+        int count = 0;
         for (T item : collection) {
-            add(item);
+            LinkedListNode<T> create = newNode(item, null);
+            if (chainHead == null) {
+                chainHead = create;
+            } else {
+                chainTail.setNext(create);
+            }
+            chainTail = create;
+            indexAdd(item);
+            count++;
+        }
+        if (index == 0) {
+            chainTail.setNext(head);
+            head = chainHead;
+            if (tail == null) {
+                tail = chainTail;
+            }
+        } else {
+            LinkedListNode<T> previous = nodeAt(index - 1);
+            chainTail.setNext(previous.getNext());
+            previous.setNext(chainHead);
+            if (previous == tail) {
+                tail = chainTail;
+            }
+        }
+        if (finger != null && fingerIndex >= index) {
+            fingerIndex += count;
+        }
+        size += count;
+        modCount++;
+    }
+
+
+    /**
+     * Moves every node of {@code other} onto the end of this list, leaving
+     * {@code other} empty. No nodes are copied or allocated.
+     *
+     * Should be O(1). If this list keeps a membership index it is O(m),
+     * where m is the size of {@code other}, to index the moved elements.
+     *
+     * @param other The list whose nodes are appended.
+     * @throws java.lang.IllegalArgumentException if other is null or is this
+     * list.
+     */
+    public void splice(SinglyLinkedList<T> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Cannot splice a null list.");
+        } else if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list onto"
+                    + " itself.");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        if (occurrences != null) {
+            for (LinkedListNode<T> current = other.head; current != null;
+                    current = current.getNext()) {
+                indexAdd(current.getData());
+            }
         }
+        if (head == null) {
+            head = other.head;
+        } else {
+            tail.setNext(other.head);
+        }
+        tail = other.tail;
+        size += other.size;
+        modCount++;
+        other.clear();
     }
 
 
@@ -98,14 +297,17 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
         if (data == null) {
             throw new IllegalArgumentException("Cannot use null data.");
         }
+        if (size == 0) {
+            return false;
+        }
+        if (occurrences != null) {
+            return occurrences.containsKey(data);
+        }
         if (head.getData() == data) {
             return true;
         }
         if (tail.getData() == data) {
             return true;
-        }
-        if (size == 0) {
-            return false;
         } else {
             LinkedListNode<T> current = head.getNext();
             while ((current != null)) {
@@ -120,15 +322,11 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
 
     @Override
     public T get(int index) {
-        if (index > size || index < 0) {
+        if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("That index isnt within"
                     + " our current linked list.");
         }
-        LinkedListNode<T> current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.getNext();
-        }
-        return current.getData();
+        return nodeAt(index).getData();
     }
 
 
@@ -139,9 +337,13 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
         }
         if (size == 1) {
             T data = head.getData();
+            recycle(head);
             head = null;
             tail = null;
             size--;
+            modCount++;
+            finger = null;
+            indexRemove(data);
             return data;
 
         } else {
@@ -153,8 +355,15 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
                 current = current.getNext();
             }
             previous.setNext(null);
+            recycle(current);
             tail = previous;
             size--;
+            modCount++;
+            if (finger == current) {
+                finger = previous;
+                fingerIndex = size - 1;
+            }
+            indexRemove(data);
             return data;
         }
     }
@@ -162,23 +371,24 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
 
     @Override
     public T removeAtIndex(int index) {
-        LinkedListNode<T> current = head;
         if ((index < 0) || (index >= size)) {
             throw new IndexOutOfBoundsException("That index isnt in our LL.");
         }
         if (index == 0) {
             return removeFromFront();
         } else {
-            int count = 0;
-            while (count < index - 1) {
-                current = current.getNext();
-                count++;
+            LinkedListNode<T> current = nodeAt(index - 1);
+            LinkedListNode<T> removed = current.getNext();
+            current.setNext(removed.getNext());
+            if (removed == tail) {
+                tail = current;
             }
-            T remove = current.getNext().getData();
-            LinkedListNode<T> fixNode = current.getNext().getNext();
-            current.setNext(fixNode);
             size--;
-            return remove;
+            modCount++;
+            T data = removed.getData();
+            indexRemove(data);
+            recycle(removed);
+            return data;
         }
     }
 
@@ -190,7 +400,19 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
             LinkedListNode<T> front = head;
             head = front.getNext();
             size--;
-            return front.getData();
+            modCount++;
+            if (head == null) {
+                tail = null;
+            }
+            if (finger == front) {
+                finger = null;
+            } else if (finger != null) {
+                fingerIndex--;
+            }
+            T data = front.getData();
+            indexRemove(data);
+            recycle(front);
+            return data;
         }
         return null;
     }
@@ -198,30 +420,19 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
 
     @Override
     public T setAtIndex(int index, T data) {
-        if (index > size || index < 0) {
+        if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("That index isnt within"
                     + " our current linked list.");
         }
         if (data == null) {
             throw new IllegalArgumentException("Cannot use null.");
         }
-        if (index == 0) {
-            head.setData(data);
-            return head.getData();
-        }
-        if (index == (size - 1)) {
-            tail.setData(data);
-            return tail.getData();
-        } else {
-            LinkedListNode<T> current = head;
-            int increment = 0;
-            while (increment < index) {
-                current = current.getNext();
-                increment++;
-            }
-            current.setData(data);
-            return data;
-        }
+        LinkedListNode<T> current = nodeAt(index);
+        T replaced = current.getData();
+        current.setData(data);
+        indexRemove(replaced);
+        indexAdd(data);
+        return replaced;
     }
 
     @Override
@@ -252,6 +463,700 @@ public class SinglyLinkedList<T> implements LinkedListInterface<T> {
         head = null;
         tail = null;
         size = 0;
+        modCount++;
+        finger = null;
+        if (occurrences != null) {
+            occurrences.clear();
+        }
+    }
+
+
+    /**
+     * Removes the first occurrence of {@code data} from the list. In indexed
+     * mode an absent element is rejected in O(1) without walking the list.
+     *
+     * @param data The data to remove.
+     * @return True if an occurrence was removed. False otherwise.
+     * @throws java.lang.IllegalArgumentException if data is null.
+     */
+    public boolean removeFirstOccurrence(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        if (size == 0
+                || (occurrences != null && !occurrences.containsKey(data))) {
+            return false;
+        }
+        if (head.getData() == data) {
+            removeFromFront();
+            return true;
+        }
+        LinkedListNode<T> previous = head;
+        int count = 0;
+        while (previous.getNext() != null) {
+            LinkedListNode<T> current = previous.getNext();
+            if (current.getData() == data) {
+                previous.setNext(current.getNext());
+                if (current == tail) {
+                    tail = previous;
+                }
+                size--;
+                modCount++;
+                indexRemove(data);
+                recycle(current);
+                finger = previous;
+                fingerIndex = count;
+                return true;
+            }
+            previous = current;
+            count++;
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the node at index, walking from the finger when it sits at or
+     * before index and from head otherwise. The finger is left on the
+     * returned node, so a forward scan over the indices is O(1) per step.
+     *
+     * @param index The index of the node. Must already be bounds checked.
+     * @return The node at that index.
+     */
+    private LinkedListNode<T> nodeAt(int index) {
+        if (index == size - 1) {
+            return tail;
+        }
+        LinkedListNode<T> current = head;
+        int count = 0;
+        if (finger != null && fingerIndex <= index) {
+            current = finger;
+            count = fingerIndex;
+        }
+        while (count < index) {
+            current = current.getNext();
+            count++;
+        }
+        finger = current;
+        fingerIndex = index;
+        return current;
+    }
+
+
+    /**
+     * Removes every element that matches {@code filter} in a single pass,
+     * relinking around each match.
+     *
+     * Must be O(n).
+     *
+     * @param filter The predicate selecting the elements to remove.
+     * @return The number of elements removed.
+     * @throws java.lang.IllegalArgumentException if filter is null.
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Predicate cannot be null.");
+        }
+        int removed = 0;
+        LinkedListNode<T> previous = null;
+        LinkedListNode<T> current = head;
+        while (current != null) {
+            LinkedListNode<T> next = current.getNext();
+            T data = current.getData();
+            if (filter.test(data)) {
+                if (previous == null) {
+                    head = next;
+                } else {
+                    previous.setNext(next);
+                }
+                if (current == tail) {
+                    tail = previous;
+                }
+                size--;
+                modCount++;
+                finger = null;
+                indexRemove(data);
+                recycle(current);
+                removed++;
+            } else {
+                previous = current;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+
+    /**
+     * Removes every element that {@code collection} contains, in a single
+     * pass. Membership is decided by {@code collection.contains}, so pass a
+     * hash based collection to keep this O(n).
+     *
+     * @param collection The elements to remove.
+     * @return The number of elements removed.
+     * @throws java.lang.IllegalArgumentException if collection is null.
+     */
+    public int removeAll(Collection<?> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        return removeIf(collection::contains);
+    }
+
+
+    /**
+     * Removes every element that {@code collection} does not contain, in a
+     * single pass. Membership is decided by {@code collection.contains}, so
+     * pass a hash based collection to keep this O(n).
+     *
+     * @param collection The elements to keep.
+     * @return The number of elements removed.
+     * @throws java.lang.IllegalArgumentException if collection is null.
+     */
+    public int retainAll(Collection<?> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        return removeIf(data -> !collection.contains(data));
+    }
+
+
+    /**
+     * Sorts the list in place with a bottom-up merge sort that relinks the
+     * existing nodes, so no data is copied out of the list.
+     *
+     * It is stable, runs in O(n log n) time and uses O(1) extra space.
+     *
+     * @param comparator The Comparator used to order the data.
+     * @throws java.lang.IllegalArgumentException if comparator is null.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null.");
+        }
+        if (size < 2) {
+            return;
+        }
+        LinkedListNode<T> front = new LinkedListNode<T>(null, head);
+        LinkedListNode<T> last = head;
+        for (int width = 1; width < size; width *= 2) {
+            LinkedListNode<T> previous = front;
+            LinkedListNode<T> current = front.getNext();
+            while (current != null) {
+                LinkedListNode<T> left = current;
+                LinkedListNode<T> right = cutAfter(left, width);
+                current = cutAfter(right, width);
+                previous = merge(left, right, previous, comparator);
+            }
+            last = previous;
+        }
+        head = front.getNext();
+        tail = last;
+        finger = null;
+        modCount++;
+    }
+
+
+    /**
+     * Cuts the chain starting at {@code node} after {@code count} nodes.
+     *
+     * @param node The first node of the chain, may be null.
+     * @param count The number of nodes to keep.
+     * @return The first node after the cut, or null if the chain was shorter.
+     */
+    private LinkedListNode<T> cutAfter(LinkedListNode<T> node, int count) {
+        for (int i = 1; node != null && i < count; i++) {
+            node = node.getNext();
+        }
+        if (node == null) {
+            return null;
+        }
+        LinkedListNode<T> rest = node.getNext();
+        node.setNext(null);
+        return rest;
+    }
+
+
+    /**
+     * Merges two sorted chains onto the end of {@code previous}, taking from
+     * the left chain on ties to stay stable.
+     *
+     * @param left The first sorted chain.
+     * @param right The second sorted chain, may be null.
+     * @param previous The node to link the merged chain after.
+     * @param comparator The Comparator used to order the data.
+     * @return The last node of the merged chain.
+     */
+    private LinkedListNode<T> merge(LinkedListNode<T> left,
+            LinkedListNode<T> right, LinkedListNode<T> previous,
+            Comparator<? super T> comparator) {
+        while (left != null && right != null) {
+            if (comparator.compare(left.getData(), right.getData()) <= 0) {
+                previous.setNext(left);
+                left = left.getNext();
+            } else {
+                previous.setNext(right);
+                right = right.getNext();
+            }
+            previous = previous.getNext();
+        }
+        previous.setNext(left != null ? left : right);
+        while (previous.getNext() != null) {
+            previous = previous.getNext();
+        }
+        return previous;
+    }
+
+
+    /**
+     * Writes the list to {@code path} in a compact binary format. Integers,
+     * Longs, Doubles and Strings are stored directly. Any other element is
+     * stored with Java serialization. The data is written through a
+     * {@code FileChannel} in {@code SNAPSHOT_BLOCK} sized blocks.
+     *
+     * Must be O(n).
+     *
+     * @param path The file to write, replaced if it exists.
+     * @throws java.io.IOException if writing fails or an element cannot be
+     * serialized.
+     * @throws java.lang.IllegalArgumentException if path is null.
+     */
+    public void writeSnapshot(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path is null.");
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer block = ByteBuffer.allocateDirect(SNAPSHOT_BLOCK);
+            block.putInt(SNAPSHOT_MAGIC);
+            block.putInt(size);
+            for (LinkedListNode<T> current = head; current != null;
+                    current = current.getNext()) {
+                Object data = current.getData();
+                if (block.remaining() < 9) {
+                    flush(channel, block);
+                }
+                if (data instanceof Integer) {
+                    block.put(TAG_INTEGER);
+                    block.putInt((Integer) data);
+                } else if (data instanceof Long) {
+                    block.put(TAG_LONG);
+                    block.putLong((Long) data);
+                } else if (data instanceof Double) {
+                    block.put(TAG_DOUBLE);
+                    block.putDouble((Double) data);
+                } else if (data instanceof String) {
+                    block.put(TAG_STRING);
+                    writePayload(channel, block,
+                            ((String) data).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    block.put(TAG_SERIALIZED);
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try (ObjectOutputStream out =
+                            new ObjectOutputStream(bytes)) {
+                        out.writeObject(data);
+                    }
+                    writePayload(channel, block, bytes.toByteArray());
+                }
+            }
+            flush(channel, block);
+        }
+    }
+
+
+    /**
+     * Reads a list written by {@code writeSnapshot}. The file is memory
+     * mapped and the node chain is built in a single pass, with head, tail
+     * and size set once at the end.
+     *
+     * Must be O(n).
+     *
+     * @param <T> The type the elements were written as. Not checked.
+     * @param path The file to read.
+     * @return A new list holding the snapshot's elements.
+     * @throws java.io.IOException if reading fails, the file is not a
+     * snapshot, or it is too large to map.
+     * @throws java.lang.IllegalArgumentException if path is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SinglyLinkedList<T> readSnapshot(Path path)
+        throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path is null.");
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map.");
+            }
+            MappedByteBuffer mapped = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < 8 || mapped.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a list snapshot.");
+            }
+            int count = mapped.getInt();
+            if (count < 0) {
+                throw new IOException("Corrupt snapshot element count "
+                        + count + ".");
+            }
+            LinkedListNode<T> front = new LinkedListNode<T>(null);
+            LinkedListNode<T> last = front;
+            for (int i = 0; i < count; i++) {
+                LinkedListNode<T> create =
+                        new LinkedListNode<T>((T) readElement(mapped));
+                last.setNext(create);
+                last = create;
+            }
+            SinglyLinkedList<T> list = new SinglyLinkedList<T>();
+            if (count > 0) {
+                list.head = front.getNext();
+                list.tail = last;
+                list.size = count;
+            }
+            return list;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Snapshot is truncated.", e);
+        }
+    }
+
+
+    /**
+     * Decodes one tagged element from the snapshot buffer.
+     *
+     * @param buffer The buffer positioned at a tag byte.
+     * @return The decoded element.
+     * @throws java.io.IOException if the tag is unknown, the length prefix
+     * does not fit in the buffer, or the element cannot be deserialized.
+     */
+    private static Object readElement(ByteBuffer buffer) throws IOException {
+        byte tag = buffer.get();
+        if (tag == TAG_INTEGER) {
+            return buffer.getInt();
+        } else if (tag == TAG_LONG) {
+            return buffer.getLong();
+        } else if (tag == TAG_DOUBLE) {
+            return buffer.getDouble();
+        }
+        if (tag != TAG_STRING && tag != TAG_SERIALIZED) {
+            throw new IOException("Unknown element tag " + tag + ".");
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt snapshot element length "
+                    + length + ".");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        if (tag == TAG_STRING) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown class in snapshot.", e);
+        }
+    }
+
+
+    /**
+     * Writes a length-prefixed payload, going straight to the channel when
+     * it does not fit in the block.
+     *
+     * @param channel The channel being written.
+     * @param block The block buffer.
+     * @param bytes The payload.
+     * @throws java.io.IOException if writing fails.
+     */
+    private static void writePayload(FileChannel channel, ByteBuffer block,
+            byte[] bytes) throws IOException {
+        if (block.remaining() < 4 + bytes.length) {
+            flush(channel, block);
+        }
+        block.putInt(bytes.length);
+        if (block.remaining() < bytes.length) {
+            flush(channel, block);
+            ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+        } else {
+            block.put(bytes);
+        }
+    }
+
+
+    /**
+     * Writes out and empties the block buffer.
+     *
+     * @param channel The channel being written.
+     * @param block The block buffer.
+     * @throws java.io.IOException if writing fails.
+     */
+    private static void flush(FileChannel channel, ByteBuffer block)
+        throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+
+
+    /**
+     * Returns a fail-fast iterator over the list from head to tail.
+     *
+     * @return An iterator over the data in the list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new NodeIterator();
+    }
+
+
+    /**
+     * Returns a late-binding, fail-fast spliterator over the list. It splits
+     * off growing batches of elements copied into arrays, so a parallel
+     * stream can hand them to other threads without copying the whole list.
+     *
+     * @return A spliterator over the data in the list.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator();
+    }
+
+
+    /**
+     * Returns a sequential stream over the data in the list.
+     *
+     * @return A stream of the list's data.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+
+    /**
+     * Returns a possibly parallel stream over the data in the list.
+     *
+     * @return A parallel stream of the list's data.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+
+    /**
+     * Returns the number of node allocations served from the node pool.
+     *
+     * @return The number of pool hits.
+     */
+    public long getPoolHits() {
+        return poolHits;
+    }
+
+
+    /**
+     * Returns the number of node allocations the node pool could not serve.
+     *
+     * @return The number of pool misses.
+     */
+    public long getPoolMisses() {
+        return poolMisses;
+    }
+
+
+    /**
+     * Returns a node holding {@code data} and pointing at {@code next},
+     * reusing a pooled node when one is available.
+     *
+     * @param data The data the node should hold.
+     * @param next The node that should follow it.
+     * @return The node.
+     */
+    private LinkedListNode<T> newNode(T data, LinkedListNode<T> next) {
+        if (freeNodes == null) {
+            poolMisses++;
+            return new LinkedListNode<T>(data, next);
+        }
+        poolHits++;
+        LinkedListNode<T> node = freeNodes;
+        freeNodes = node.getNext();
+        freeCount--;
+        node.setData(data);
+        node.setNext(next);
+        return node;
+    }
+
+
+    /**
+     * Puts a node that was just unlinked back into the node pool, clearing
+     * its data so the pool does not keep removed elements alive.
+     *
+     * @param node The node that was removed.
+     */
+    private void recycle(LinkedListNode<T> node) {
+        if (freeCount < poolCapacity) {
+            node.setData(null);
+            node.setNext(freeNodes);
+            freeNodes = node;
+            freeCount++;
+        }
+    }
+
+
+    /**
+     * Records one more occurrence of {@code data} in the membership index.
+     *
+     * @param data The data that was added.
+     */
+    private void indexAdd(T data) {
+        if (occurrences != null) {
+            Integer count = occurrences.get(data);
+            occurrences.put(data, count == null ? 1 : count + 1);
+        }
+    }
+
+
+    /**
+     * Records one less occurrence of {@code data} in the membership index.
+     *
+     * @param data The data that was removed.
+     */
+    private void indexRemove(T data) {
+        if (occurrences != null) {
+            Integer count = occurrences.get(data);
+            if (count == 1) {
+                occurrences.remove(data);
+            } else {
+                occurrences.put(data, count - 1);
+            }
+        }
+    }
+
+
+    /**
+     * Iterator that walks the nodes and fails fast on structural changes.
+     */
+    private class NodeIterator implements Iterator<T> {
+        private LinkedListNode<T> current = head;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (current == null) {
+                throw new NoSuchElementException("No more elements.");
+            }
+            T data = current.getData();
+            current = current.getNext();
+            return data;
+        }
+    }
+
+
+    /**
+     * Spliterator that walks the nodes and splits off arrays of
+     * {@code BATCH_UNIT}, 2 * {@code BATCH_UNIT}, ... elements at a time.
+     */
+    private class NodeSpliterator implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private LinkedListNode<T> current;
+        private int remaining = -1;
+        private int expectedModCount;
+        private int batch;
+
+        /**
+         * Binds to the list on first use rather than on creation.
+         *
+         * @return the number of elements left to traverse
+         */
+        private int bind() {
+            if (remaining < 0) {
+                current = head;
+                remaining = size;
+                expectedModCount = modCount;
+            }
+            return remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (bind() > 0 && current != null) {
+                T data = current.getData();
+                current = current.getNext();
+                remaining--;
+                action.accept(data);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int n = bind();
+            LinkedListNode<T> node = current;
+            current = null;
+            remaining = 0;
+            for (int i = 0; i < n && node != null; i++) {
+                action.accept(node.getData());
+                node = node.getNext();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int s = bind();
+            if (s <= 1 || current == null) {
+                return null;
+            }
+            int n = Math.min(Math.min(batch + BATCH_UNIT, s), MAX_BATCH);
+            Object[] array = new Object[n];
+            int j = 0;
+            while (j < n && current != null) {
+                array[j] = current.getData();
+                current = current.getNext();
+                j++;
+            }
+            batch = j;
+            remaining = s - j;
+            return Spliterators.spliterator(array, 0, j,
+                    Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public long estimateSize() {
+            return bind();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED
+                    | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
     }
 
 
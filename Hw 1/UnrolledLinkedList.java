@@ -0,0 +1,352 @@
+import java.util.Collection;
+
+/**
+ * An unrolled linked list. Each chunk holds up to {@code CHUNK_CAPACITY}
+ * elements in an array, so scans walk contiguous memory and the per-element
+ * overhead is one array slot instead of a whole node.
+ *
+ * Chunks split in half when an insert finds them full and merge with their
+ * successor when a removal leaves them less than half full.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class UnrolledLinkedList<T> implements LinkedListInterface<T> {
+
+    public static final int CHUNK_CAPACITY = 32;
+
+    private Chunk<T> head;
+    private Chunk<T> tail;
+    private int size;
+
+    @Override
+    public void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        if (tail == null) {
+            head = new Chunk<T>();
+            tail = head;
+        } else if (tail.count == CHUNK_CAPACITY) {
+            Chunk<T> create = new Chunk<T>();
+            linkAfter(tail, create);
+        }
+        tail.elements[tail.count] = data;
+        tail.count++;
+        size++;
+    }
+
+
+    @Override
+    public void addToIndex(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                + " our current linked list.");
+        } else if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        if (index == size) {
+            add(data);
+            return;
+        }
+        Chunk<T> current = head;
+        int offset = index;
+        while (offset > current.count) {
+            offset -= current.count;
+            current = current.next;
+        }
+        if (current.count == CHUNK_CAPACITY) {
+            split(current);
+            if (offset > current.count) {
+                offset -= current.count;
+                current = current.next;
+            }
+        }
+        System.arraycopy(current.elements, offset, current.elements,
+                offset + 1, current.count - offset);
+        current.elements[offset] = data;
+        current.count++;
+        size++;
+    }
+
+
+    @Override
+    public void addToFront(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot have null data.");
+        }
+        if (head == null) {
+            add(data);
+        } else {
+            addToIndex(0, data);
+        }
+    }
+
+
+    @Override
+    public void addAll(Collection<T> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection is null.");
+        }
+        for (T item : collection) {
+            add(item);
+        }
+    }
+
+
+    @Override
+    public boolean contains(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null data.");
+        }
+        for (Chunk<T> current = head; current != null;
+                current = current.next) {
+            Object[] elements = current.elements;
+            for (int i = 0; i < current.count; i++) {
+                if (elements[i] == data) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        if (index >= size - tail.count) {
+            return (T) tail.elements[index - (size - tail.count)];
+        }
+        Chunk<T> current = head;
+        int offset = index;
+        while (offset >= current.count) {
+            offset -= current.count;
+            current = current.next;
+        }
+        return (T) current.elements[offset];
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove() {
+        if (size == 0) {
+            return null;
+        }
+        tail.count--;
+        T data = (T) tail.elements[tail.count];
+        tail.elements[tail.count] = null;
+        size--;
+        if (tail.count == 0) {
+            unlink(tail);
+        }
+        return data;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T removeAtIndex(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("That index isnt in our LL.");
+        }
+        Chunk<T> current = head;
+        int offset = index;
+        while (offset >= current.count) {
+            offset -= current.count;
+            current = current.next;
+        }
+        T data = (T) current.elements[offset];
+        System.arraycopy(current.elements, offset + 1, current.elements,
+                offset, current.count - offset - 1);
+        current.count--;
+        current.elements[current.count] = null;
+        size--;
+        if (current.count == 0) {
+            unlink(current);
+        } else if (current.count < CHUNK_CAPACITY / 2
+                && current.next != null
+                && current.count + current.next.count <= CHUNK_CAPACITY) {
+            mergeWithNext(current);
+        }
+        return data;
+    }
+
+
+    @Override
+    public T removeFromFront() {
+        if (size == 0) {
+            return null;
+        }
+        return removeAtIndex(0);
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T setAtIndex(int index, T data) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("That index isnt within"
+                    + " our current linked list.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot use null.");
+        }
+        Chunk<T> current = head;
+        int offset = index;
+        while (offset >= current.count) {
+            offset -= current.count;
+            current = current.next;
+        }
+        T replaced = (T) current.elements[offset];
+        current.elements[offset] = data;
+        return replaced;
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        Object[] listArray = new Object[size];
+        int count = 0;
+        for (Chunk<T> current = head; current != null;
+                current = current.next) {
+            System.arraycopy(current.elements, 0, listArray, count,
+                    current.count);
+            count += current.count;
+        }
+        return listArray;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+
+    /**
+     * Moves the upper half of a full chunk into a new chunk right after it.
+     *
+     * @param chunk the full chunk to split
+     */
+    private void split(Chunk<T> chunk) {
+        Chunk<T> create = new Chunk<T>();
+        int half = chunk.count / 2;
+        create.count = chunk.count - half;
+        System.arraycopy(chunk.elements, half, create.elements, 0,
+                create.count);
+        for (int i = half; i < chunk.count; i++) {
+            chunk.elements[i] = null;
+        }
+        chunk.count = half;
+        linkAfter(chunk, create);
+    }
+
+
+    /**
+     * Appends the contents of the next chunk onto {@code chunk} and unlinks
+     * the emptied successor.
+     *
+     * @param chunk the chunk to merge into
+     */
+    private void mergeWithNext(Chunk<T> chunk) {
+        Chunk<T> next = chunk.next;
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.count,
+                next.count);
+        chunk.count += next.count;
+        unlink(next);
+    }
+
+
+    /**
+     * Links {@code create} directly after {@code chunk}.
+     *
+     * @param chunk the chunk already in the list
+     * @param create the chunk to insert
+     */
+    private void linkAfter(Chunk<T> chunk, Chunk<T> create) {
+        create.prev = chunk;
+        create.next = chunk.next;
+        if (chunk.next == null) {
+            tail = create;
+        } else {
+            chunk.next.prev = create;
+        }
+        chunk.next = create;
+    }
+
+
+    /**
+     * Removes {@code chunk} from the chain of chunks.
+     *
+     * @param chunk the chunk to remove
+     */
+    private void unlink(Chunk<T> chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getHead() {
+        throw new UnsupportedOperationException("UnrolledLinkedList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * Not supported, this list does not store its elements in
+     * {@code LinkedListNode}s.
+     *
+     * @return never
+     */
+    @Override
+    public LinkedListNode<T> getTail() {
+        throw new UnsupportedOperationException("UnrolledLinkedList has no"
+                + " LinkedListNodes.");
+    }
+
+
+    /**
+     * A block of up to {@code CHUNK_CAPACITY} consecutive elements.
+     */
+    private static class Chunk<T> {
+        private final Object[] elements = new Object[CHUNK_CAPACITY];
+        private int count;
+        private Chunk<T> prev;
+        private Chunk<T> next;
+    }
+}
@@ -45,20 +45,71 @@ public class ArrayQueue<T> implements QueueInterface<T> {
             back = ((back + 1) % backingArray.length);
             backingArray[back] = data;
         } else {
-            T[] newArray = (T[]) new Object[backingArray.length * 2];
-            for (int i = 0; i < backingArray.length; i++) {
-                newArray[i] = dequeue();
-                size++;
-            }
-            front = 0;
-            back = backingArray.length;
-            backingArray = newArray;
+            grow(size + 1);
+            back = size;
             backingArray[back] = data;
         }
         size++;
     }
 
 
+    /**
+     * Enqueues {@code src[off, off + len)} in order, growing the array at
+     * most once. The elements go in with at most two array copies, one on
+     * each side of the wrap point.
+     *
+     * @param src the array to enqueue from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null, in which case nothing is enqueued
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    public void enqueueAll(T[] src, int off, int len) {
+        Batches.checkSource(src, off, len);
+        if (len == 0) {
+            return;
+        }
+        if (len > backingArray.length - size) {
+            grow(size + len);
+        }
+        int start = (back + 1) % backingArray.length;
+        int firstPart = Math.min(len, backingArray.length - start);
+        System.arraycopy(src, off, backingArray, start, firstPart);
+        System.arraycopy(src, off + firstPart, backingArray, 0,
+                len - firstPart);
+        back = (start + len - 1) % backingArray.length;
+        size += len;
+    }
+
+
+    /**
+     * Dequeues up to {@code max} elements into {@code dst}, front first,
+     * with at most two array copies.
+     *
+     * @param dst the array to drain into, filled from index 0
+     * @param max the most elements to dequeue
+     * @return the number of elements dequeued
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    public int drainTo(T[] dst, int max) {
+        int count = Math.min(Batches.checkDestination(dst, max), size);
+        if (count == 0) {
+            return 0;
+        }
+        int firstPart = Math.min(count, backingArray.length - front);
+        System.arraycopy(backingArray, front, dst, 0, firstPart);
+        System.arraycopy(backingArray, 0, dst, firstPart, count - firstPart);
+        java.util.Arrays.fill(backingArray, front, front + firstPart, null);
+        java.util.Arrays.fill(backingArray, 0, count - firstPart, null);
+        front = (front + count) % backingArray.length;
+        size -= count;
+        return count;
+    }
+
+
     @Override
     public T dequeue() {
         if (isEmpty()) {
@@ -84,6 +135,29 @@ public class ArrayQueue<T> implements QueueInterface<T> {
     }
 
 
+    /**
+     * Doubles the backing array until it can hold {@code minCapacity}
+     * elements, unwrapping the contents so that the front is at index 0.
+     *
+     * @param minCapacity the number of elements the array must hold
+     */
+    private void grow(int minCapacity) {
+        int capacity = Math.max(backingArray.length, 1);
+        while (capacity < minCapacity
+                && capacity <= (Integer.MAX_VALUE - 8) / 2) {
+            capacity *= 2;
+        }
+        capacity = Math.max(capacity, minCapacity);
+        T[] newArray = (T[]) new Object[capacity];
+        int wrapped = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, newArray, 0, wrapped);
+        System.arraycopy(backingArray, 0, newArray, wrapped, size - wrapped);
+        front = 0;
+        back = size - 1;
+        backingArray = newArray;
+    }
+
+
     // DO NOT ALTER OR USE ANYTHING BEYOND THIS POINT!
 
 
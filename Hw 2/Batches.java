@@ -0,0 +1,69 @@
+/**
+ * Argument checks shared by the batch {@code enqueueAll}/{@code offerAll}
+ * and {@code drainTo} methods of the queues, so that every queue rejects
+ * a bad batch the same way and before changing anything.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+final class Batches {
+
+    /**
+     * Not instantiable.
+     */
+    private Batches() {
+    }
+
+
+    /**
+     * Checks that {@code src[off, off + len)} is a valid range holding no
+     * null elements.
+     *
+     * @param src the array to enqueue from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    static void checkSource(Object[] src, int off, int len) {
+        if (src == null) {
+            throw new IllegalArgumentException("Cannot enqueue from a null"
+                    + " array.");
+        }
+        if (off < 0 || len < 0 || len > src.length - off) {
+            throw new IndexOutOfBoundsException("That range isnt within"
+                    + " the array.");
+        }
+        for (int i = off; i < off + len; i++) {
+            if (src[i] == null) {
+                throw new IllegalArgumentException("Cannot enqueue null"
+                        + " data.");
+            }
+        }
+    }
+
+
+    /**
+     * Checks the arguments to {@code drainTo} and returns how many elements
+     * may be drained.
+     *
+     * @param dst the array to drain into
+     * @param max the most elements to drain
+     * @return {@code max} capped at the length of {@code dst}
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    static int checkDestination(Object[] dst, int max) {
+        if (dst == null) {
+            throw new IllegalArgumentException("Cannot drain into a null"
+                    + " array.");
+        }
+        if (max < 0) {
+            throw new IllegalArgumentException("Cannot drain a negative"
+                    + " number of elements.");
+        }
+        return Math.min(max, dst.length);
+    }
+}
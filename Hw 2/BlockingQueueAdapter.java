@@ -0,0 +1,289 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Makes any {@code QueueInterface} safe to share between threads and adds
+ * blocking operations: {@code take} waits for an element instead of
+ * throwing, and {@code put} waits for room when a capacity is given.
+ *
+ * Every call holds one {@code ReentrantLock}, and waiting threads sleep on
+ * its {@code Condition}s. The lock is used rather than {@code synchronized}
+ * so that a virtual thread blocked here unmounts from its carrier instead
+ * of pinning it.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class BlockingQueueAdapter<T> implements QueueInterface<T> {
+
+    private final QueueInterface<T> queue;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Wraps {@code queue} with no capacity limit. The queue should not be
+     * used directly afterwards.
+     *
+     * @param queue the queue to guard
+     * @throws IllegalArgumentException if {@code queue} is null
+     */
+    public BlockingQueueAdapter(QueueInterface<T> queue) {
+        this(queue, Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Wraps {@code queue}, letting it hold at most {@code capacity}
+     * elements. The queue should not be used directly afterwards.
+     *
+     * @param queue the queue to guard
+     * @param capacity the most elements the queue may hold
+     * @throws IllegalArgumentException if {@code queue} is null or
+     * {@code capacity} is not positive
+     */
+    public BlockingQueueAdapter(QueueInterface<T> queue, int capacity) {
+        if (queue == null) {
+            throw new IllegalArgumentException("Cannot wrap a null queue.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.queue = queue;
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Enqueues {@code data} at the back of the queue without waiting.
+     *
+     * @param data the data to add
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws IllegalStateException if the queue is at capacity
+     */
+    @Override
+    public void enqueue(T data) {
+        if (!offer(data)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue without waiting.
+     *
+     * @return the data from the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    @Override
+    public T dequeue() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        return data;
+    }
+
+
+    /**
+     * Enqueues {@code data} if the queue is below capacity. Never waits.
+     *
+     * @param data the data to add
+     * @return true if it was added, false if the queue is at capacity
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    public boolean offer(T data) {
+        checkData(data);
+        lock.lock();
+        try {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            enqueueLocked(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Enqueues {@code data}, waiting up to {@code timeout} for room.
+     *
+     * @param data the data to add
+     * @param timeout how long to wait
+     * @param unit the unit of {@code timeout}
+     * @return true if it was added, false if the wait timed out
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(T data, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        checkData(data);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueueLocked(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Enqueues {@code data}, waiting as long as it takes for room.
+     *
+     * @param data the data to add
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(T data) throws InterruptedException {
+        checkData(data);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() >= capacity) {
+                notFull.await();
+            }
+            enqueueLocked(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue if there is one.
+     * Never waits.
+     *
+     * @return the data from the front of the queue, or null if it is empty
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            return queue.isEmpty() ? null : dequeueLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue, waiting up to
+     * {@code timeout} for one to arrive.
+     *
+     * @param timeout how long to wait
+     * @param unit the unit of {@code timeout}
+     * @return the data from the front of the queue, or null if the wait
+     * timed out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeueLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue, waiting as long as
+     * it takes for one to arrive.
+     *
+     * @return the data from the front of the queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeueLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    /**
+     * Returns the most elements the queue may hold.
+     *
+     * @return the capacity, {@code Integer.MAX_VALUE} if unbounded
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Enqueues and wakes one waiting consumer. Lock must be held.
+     *
+     * @param data the data to add
+     */
+    private void enqueueLocked(T data) {
+        queue.enqueue(data);
+        notEmpty.signal();
+    }
+
+
+    /**
+     * Dequeues and wakes one waiting producer. Lock must be held and the
+     * queue must not be empty.
+     *
+     * @return the data dequeued
+     */
+    private T dequeueLocked() {
+        T data = queue.dequeue();
+        notFull.signal();
+        return data;
+    }
+
+
+    /**
+     * Rejects null data before any lock is taken.
+     *
+     * @param data the data to check
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    private void checkData(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot enqueue null data.");
+        }
+    }
+}
@@ -0,0 +1,286 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code StackInterface} counterpart of {@code BlockingQueueAdapter}:
+ * makes any Stack safe to share between threads, with {@code take}
+ * waiting for an element and {@code put} waiting for room when a capacity
+ * is given. It uses a {@code ReentrantLock} and {@code Condition}s for the
+ * same reason.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class BlockingStackAdapter<T> implements StackInterface<T> {
+
+    private final StackInterface<T> stack;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Wraps {@code stack} with no capacity limit. The stack should not be
+     * used directly afterwards.
+     *
+     * @param stack the stack to guard
+     * @throws IllegalArgumentException if {@code stack} is null
+     */
+    public BlockingStackAdapter(StackInterface<T> stack) {
+        this(stack, Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Wraps {@code stack}, letting it hold at most {@code capacity}
+     * elements. The stack should not be used directly afterwards.
+     *
+     * @param stack the stack to guard
+     * @param capacity the most elements the stack may hold
+     * @throws IllegalArgumentException if {@code stack} is null or
+     * {@code capacity} is not positive
+     */
+    public BlockingStackAdapter(StackInterface<T> stack, int capacity) {
+        if (stack == null) {
+            throw new IllegalArgumentException("Cannot wrap a null stack.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.stack = stack;
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Pushes {@code data} onto the stack without waiting.
+     *
+     * @param data the data to push
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws IllegalStateException if the stack is at capacity
+     */
+    @Override
+    public void push(T data) {
+        if (!offer(data)) {
+            throw new IllegalStateException("Stack is full.");
+        }
+    }
+
+
+    /**
+     * Pops the element at the top of the stack without waiting.
+     *
+     * @return the data from the top of the stack
+     * @throws NoSuchElementException if the stack is empty
+     */
+    @Override
+    public T pop() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("Stack's empty.");
+        }
+        return data;
+    }
+
+
+    /**
+     * Pushes {@code data} if the stack is below capacity. Never waits.
+     *
+     * @param data the data to push
+     * @return true if it was pushed, false if the stack is at capacity
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    public boolean offer(T data) {
+        checkData(data);
+        lock.lock();
+        try {
+            if (stack.size() >= capacity) {
+                return false;
+            }
+            pushLocked(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Pushes {@code data}, waiting up to {@code timeout} for room.
+     *
+     * @param data the data to push
+     * @param timeout how long to wait
+     * @param unit the unit of {@code timeout}
+     * @return true if it was pushed, false if the wait timed out
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(T data, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        checkData(data);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (stack.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            pushLocked(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Pushes {@code data}, waiting as long as it takes for room.
+     *
+     * @param data the data to push
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(T data) throws InterruptedException {
+        checkData(data);
+        lock.lockInterruptibly();
+        try {
+            while (stack.size() >= capacity) {
+                notFull.await();
+            }
+            pushLocked(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Pops the element at the top of the stack if there is one. Never
+     * waits.
+     *
+     * @return the data from the top of the stack, or null if it is empty
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            return stack.isEmpty() ? null : popLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Pops the element at the top of the stack, waiting up to
+     * {@code timeout} for one to arrive.
+     *
+     * @param timeout how long to wait
+     * @param unit the unit of {@code timeout}
+     * @return the data from the top of the stack, or null if the wait
+     * timed out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (stack.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return popLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Pops the element at the top of the stack, waiting as long as it
+     * takes for one to arrive.
+     *
+     * @return the data from the top of the stack
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (stack.isEmpty()) {
+                notEmpty.await();
+            }
+            return popLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return stack.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    /**
+     * Returns the most elements the stack may hold.
+     *
+     * @return the capacity, {@code Integer.MAX_VALUE} if unbounded
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Pushes and wakes one waiting consumer. Lock must be held.
+     *
+     * @param data the data to push
+     */
+    private void pushLocked(T data) {
+        stack.push(data);
+        notEmpty.signal();
+    }
+
+
+    /**
+     * Pops and wakes one waiting producer. Lock must be held and the
+     * stack must not be empty.
+     *
+     * @return the data popped
+     */
+    private T popLocked() {
+        T data = stack.pop();
+        notFull.signal();
+        return data;
+    }
+
+
+    /**
+     * Rejects null data before any lock is taken.
+     *
+     * @param data the data to check
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    private void checkData(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Can't push null data.");
+        }
+    }
+}
@@ -0,0 +1,500 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A Queue kept on disk, so that it survives the process crashing and can
+ * hold more than fits on the heap.
+ *
+ * The queue is a journal split over fixed-size, memory-mapped segment
+ * files in one directory. Enqueue only ever appends. Each record is an int
+ * header holding the payload length plus one, followed by the payload.
+ * The payload is written before its header, and a header of 0 means
+ * unwritten space, so a record torn by a crash is never seen. A record
+ * that does not fit in the current segment goes at the start of a new
+ * one, and a header of -1 tells the reader to move on. The reader's
+ * position is stored as one long in a small mapped file after every
+ * dequeue. A segment is deleted as soon as the reader leaves it.
+ *
+ * Opening a directory recovers the queue from it, counting the records
+ * between the stored read position and the end of the journal, and zeroes
+ * whatever a torn record left after that end. Elements are turned into
+ * bytes by a pluggable {@code Serializer}.
+ *
+ * Writes reach the OS page cache straight away, which is enough to
+ * survive a process crash. Call {@code sync} to force them to the device.
+ * This class is not thread-safe, and only one instance may have a given
+ * directory open at a time.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class DiskBackedQueue<T> implements QueueInterface<T>, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int HEADER = 4;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String OFFSET_FILE = "consumer.offset";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    /**
+     * Turns elements into record payloads and back.
+     *
+     * @param <T> the element type
+     */
+    public interface Serializer<T> {
+
+        /**
+         * Encodes {@code data} as bytes.
+         *
+         * @param data the element, never null
+         * @return the payload to store
+         */
+        byte[] serialize(T data);
+
+        /**
+         * Decodes a payload written by {@code serialize}.
+         *
+         * @param bytes the stored payload
+         * @return the element
+         */
+        T deserialize(byte[] bytes);
+    }
+
+    private final Path directory;
+    private final Serializer<T> serializer;
+    private final int segmentSize;
+    private MappedByteBuffer offsetBuffer;
+
+    private long writeIndex;
+    private MappedByteBuffer writeBuffer;
+    private int writePosition;
+
+    private long readIndex;
+    private MappedByteBuffer readBuffer;
+    private int readPosition;
+
+    private int size;
+
+    /**
+     * Opens the queue stored in {@code directory} with
+     * {@code DEFAULT_SEGMENT_SIZE} segments, creating it if needed.
+     *
+     * @param directory the directory holding the queue's files
+     * @param serializer how elements are stored
+     * @throws IOException if the queue cannot be read or created
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public DiskBackedQueue(Path directory, Serializer<T> serializer)
+        throws IOException {
+        this(directory, serializer, DEFAULT_SEGMENT_SIZE);
+    }
+
+
+    /**
+     * Opens the queue stored in {@code directory}, creating it if needed.
+     * New segments are {@code segmentSize} bytes. Segments already on disk
+     * keep the size they were created with.
+     *
+     * @param directory the directory holding the queue's files
+     * @param serializer how elements are stored
+     * @param segmentSize the size of each new segment file in bytes
+     * @throws IOException if the queue cannot be read or created, or a
+     * segment is corrupt
+     * @throws IllegalArgumentException if an argument is null or
+     * {@code segmentSize} is smaller than 64 bytes
+     */
+    public DiskBackedQueue(Path directory, Serializer<T> serializer,
+                           int segmentSize) throws IOException {
+        if (directory == null || serializer == null) {
+            throw new IllegalArgumentException("Directory and serializer"
+                    + " cannot be null.");
+        }
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("Segments must be at least"
+                    + " 64 bytes.");
+        }
+        this.directory = directory;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+
+    /**
+     * Returns a serializer that uses Java serialization.
+     *
+     * @param <T> the element type
+     * @return the serializer
+     */
+    public static <T extends Serializable> Serializer<T> javaSerializer() {
+        return new Serializer<T>() {
+            @Override
+            public byte[] serialize(T data) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(data);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T deserialize(byte[] bytes) {
+                try (ObjectInputStream in = new ObjectInputStream(
+                        new ByteArrayInputStream(bytes))) {
+                    return (T) in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Unknown class in"
+                            + " record.", e);
+                }
+            }
+        };
+    }
+
+
+    /**
+     * Appends {@code data} to the back of the queue.
+     *
+     * @param data the data to add
+     * @throws IllegalArgumentException if {@code data} is null or its
+     * record does not fit in a segment
+     * @throws IllegalStateException if the queue is closed
+     * @throws UncheckedIOException if a new segment cannot be created
+     */
+    @Override
+    public void enqueue(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot enqueue null data.");
+        }
+        checkOpen();
+        byte[] bytes = serializer.serialize(data);
+        if (bytes.length > segmentSize - HEADER) {
+            throw new IllegalArgumentException("Record is larger than a"
+                    + " segment.");
+        }
+        if (bytes.length > writeBuffer.capacity() - writePosition - HEADER) {
+            rollWriter();
+        }
+        ByteBuffer payload = writeBuffer.duplicate();
+        payload.position(writePosition + HEADER);
+        payload.put(bytes);
+        writeBuffer.putInt(writePosition, bytes.length + 1);
+        writePosition += HEADER + bytes.length;
+        size++;
+    }
+
+
+    /**
+     * Removes the record at the front of the queue and stores the new read
+     * position. Deletes a segment once the reader has moved past it. If
+     * the serializer throws, the record stays at the front.
+     *
+     * @return the data from the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     * @throws IllegalStateException if the queue is closed
+     * @throws UncheckedIOException if the next segment cannot be opened
+     */
+    @Override
+    public T dequeue() {
+        checkOpen();
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        int header = readPosition + HEADER > readBuffer.capacity()
+                ? END_OF_SEGMENT : readBuffer.getInt(readPosition);
+        while (header == END_OF_SEGMENT) {
+            advanceReader();
+            header = readBuffer.getInt(readPosition);
+        }
+        byte[] bytes = new byte[header - 1];
+        ByteBuffer payload = readBuffer.duplicate();
+        payload.position(readPosition + HEADER);
+        payload.get(bytes);
+        // only consume the record once it has been decoded
+        T data = serializer.deserialize(bytes);
+        readPosition += HEADER + bytes.length;
+        size--;
+        saveOffset();
+        return data;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Forces everything written so far, and the read position, to the
+     * storage device.
+     *
+     * @throws IllegalStateException if the queue is closed
+     */
+    public void sync() {
+        checkOpen();
+        writeBuffer.force();
+        offsetBuffer.force();
+    }
+
+
+    /**
+     * Syncs the queue and releases it. The files stay on disk for the next
+     * queue opened on the directory.
+     */
+    @Override
+    public void close() {
+        if (writeBuffer != null) {
+            sync();
+            writeBuffer = null;
+            readBuffer = null;
+            offsetBuffer = null;
+        }
+    }
+
+
+    /**
+     * Finds the read position and the end of the journal in the directory,
+     * deletes segments the reader already finished, and counts the records
+     * in between.
+     *
+     * @throws IOException if a file cannot be read or a segment is corrupt
+     */
+    private void recover() throws IOException {
+        Path offsetPath = directory.resolve(OFFSET_FILE);
+        boolean stored = Files.exists(offsetPath)
+                && Files.size(offsetPath) == 8;
+        if (!stored) {
+            // never written, or cut short while being created
+            Files.deleteIfExists(offsetPath);
+        }
+        offsetBuffer = map(offsetPath, 8);
+        List<Long> segments = listSegments();
+        if (stored) {
+            long offset = offsetBuffer.getLong(0);
+            readIndex = offset >>> 32;
+            readPosition = (int) offset;
+        } else {
+            readIndex = segments.isEmpty() ? 0 : segments.get(0);
+            readPosition = 0;
+        }
+        for (long index : segments) {
+            if (index < readIndex) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+        writeIndex = readIndex;
+        writeBuffer = map(segmentPath(writeIndex), segmentSize);
+        writePosition = readPosition;
+        while (true) {
+            int header = writePosition + HEADER > writeBuffer.capacity()
+                    ? END_OF_SEGMENT : writeBuffer.getInt(writePosition);
+            if (header == 0) {
+                break;
+            }
+            if (header == END_OF_SEGMENT) {
+                if (!Files.exists(segmentPath(writeIndex + 1))) {
+                    rollWriter();
+                    break;
+                }
+                writeIndex++;
+                writeBuffer = map(segmentPath(writeIndex), segmentSize);
+                writePosition = 0;
+            } else if (header < 0
+                    || header - 1 > writeBuffer.capacity() - writePosition
+                    - HEADER) {
+                throw new IOException("Segment " + writeIndex + " is"
+                        + " corrupt at " + writePosition + ".");
+            } else {
+                writePosition += HEADER + header - 1;
+                size++;
+            }
+        }
+        clearTail();
+        readBuffer = readIndex == writeIndex ? writeBuffer
+                : map(segmentPath(readIndex), segmentSize);
+    }
+
+
+    /**
+     * Zeroes the write segment from the end of the journal on. A record torn
+     * by a crash can leave payload bytes there without a header, and a
+     * shorter record written over them later would leave the rest to be
+     * read as headers. Only nonzero bytes are written, so a clean segment
+     * is not dirtied.
+     */
+    private void clearTail() {
+        boolean dirty = false;
+        int position = writePosition;
+        int capacity = writeBuffer.capacity();
+        for (; position + 8 <= capacity; position += 8) {
+            if (writeBuffer.getLong(position) != 0) {
+                writeBuffer.putLong(position, 0);
+                dirty = true;
+            }
+        }
+        for (; position < capacity; position++) {
+            if (writeBuffer.get(position) != 0) {
+                writeBuffer.put(position, (byte) 0);
+                dirty = true;
+            }
+        }
+        if (dirty) {
+            writeBuffer.force();
+        }
+    }
+
+
+    /**
+     * Starts a new segment after the current one. The new file is created
+     * before the end marker is written, so a reader that sees the marker
+     * can always open it. The finished segment is forced to the device
+     * here, because {@code sync} only forces the current one.
+     *
+     * @throws UncheckedIOException if the segment cannot be created
+     */
+    private void rollWriter() {
+        MappedByteBuffer next;
+        try {
+            next = map(segmentPath(writeIndex + 1), segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (writeBuffer.capacity() - writePosition >= HEADER) {
+            writeBuffer.putInt(writePosition, END_OF_SEGMENT);
+        }
+        writeBuffer.force();
+        writeIndex++;
+        writeBuffer = next;
+        writePosition = 0;
+    }
+
+
+    /**
+     * Moves the reader to the start of the next segment, stores that
+     * position, and deletes the segment it left.
+     *
+     * @throws UncheckedIOException if the next segment cannot be opened
+     */
+    private void advanceReader() {
+        long finished = readIndex;
+        readIndex++;
+        readPosition = 0;
+        try {
+            readBuffer = readIndex == writeIndex ? writeBuffer
+                    : map(segmentPath(readIndex), segmentSize);
+            saveOffset();
+            Files.deleteIfExists(segmentPath(finished));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Stores the read position with a single 8-byte write, so a crash
+     * leaves either the old or the new position.
+     */
+    private void saveOffset() {
+        offsetBuffer.putLong(0, readIndex << 32 | readPosition);
+    }
+
+
+    /**
+     * Lists the indices of the segment files in the directory, in order.
+     *
+     * @return the segment indices
+     * @throws IOException if the directory cannot be read
+     */
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<Long>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(
+                        SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+
+    /**
+     * Returns the path of segment {@code index}.
+     *
+     * @param index the segment index
+     * @return the path
+     */
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX,
+                index, SEGMENT_SUFFIX));
+    }
+
+
+    /**
+     * Maps {@code path} read-write, creating it with {@code length} zeroed
+     * bytes if it does not exist. An existing file is mapped at its own
+     * length.
+     *
+     * @param path the file to map
+     * @param length the length of a new file
+     * @return the mapping
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    private static MappedByteBuffer map(Path path, int length)
+        throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long existing = channel.size();
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    existing > 0 ? Math.min(existing, Integer.MAX_VALUE)
+                            : length);
+        }
+    }
+
+
+    /**
+     * Throws if the queue has been closed.
+     *
+     * @throws IllegalStateException if the queue is closed
+     */
+    private void checkOpen() {
+        if (writeBuffer == null) {
+            throw new IllegalStateException("Queue is closed.");
+        }
+    }
+}
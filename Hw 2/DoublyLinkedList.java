@@ -1,3 +1,11 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Your implementation of a DoublyLinkedList. Note the slightly different
@@ -6,25 +14,61 @@
  * @author Henry
  * @version 1.0
  */
-public class DoublyLinkedList<T> implements LinkedListInterface<T> {
+public class DoublyLinkedList<T> implements LinkedListInterface<T>,
+        Iterable<T> {
 
     // DO NOT ALTER OR ADD INSTANCE VARIABLES
     private LinkedListNode<T> head;
     private LinkedListNode<T> tail;
     private int size;
 
+    // Number of structural changes, checked by iterators to fail fast.
+    private int modCount;
+
+    // Removed nodes kept for reuse by later adds, chained through next.
+    private LinkedListNode<T> freeNodes;
+    private int freeCount;
+    private int poolCapacity;
+    private long poolHits;
+    private long poolMisses;
+
+    /**
+     * Constructs an empty list that does not recycle nodes.
+     */
+    public DoublyLinkedList() {
+        this(0);
+    }
+
+
+    /**
+     * Constructs an empty list that recycles up to {@code poolCapacity}
+     * removed nodes for later adds. Recycled nodes have their data cleared
+     * as soon as they are removed, so do not hold on to nodes taken from
+     * {@code getHead} or {@code getTail} across a removal.
+     *
+     * @param poolCapacity the most removed nodes to keep, 0 to disable
+     * @throws IllegalArgumentException if {@code poolCapacity} is negative
+     */
+    public DoublyLinkedList(int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("Pool capacity cannot be"
+                    + " negative.");
+        }
+        this.poolCapacity = poolCapacity;
+    }
+
+
     @Override
     public void add(T data) {
         if (data == null) {
             throw new IllegalArgumentException("Cannot add null data.");
         }
-        LinkedListNode newNode = new LinkedListNode<T>(data);
         if (!isEmpty()) {
-            LinkedListNode<T> curr = tail;
-            curr.setNext(newNode);
-            newNode.setPrev(tail);
+            LinkedListNode<T> newNode = newNode(data, tail, null);
+            tail.setNext(newNode);
             tail = newNode;
             size++;
+            modCount++;
         } else {
             addToFront(data);
         }
@@ -36,16 +80,18 @@ public class DoublyLinkedList<T> implements LinkedListInterface<T> {
         if (data == null) {
             throw new IllegalArgumentException("Cannot add null data.");
         }
-        LinkedListNode<T> node = new LinkedListNode<T>(data);
         if (isEmpty()) {
+            LinkedListNode<T> node = newNode(data, null, null);
             head = node;
             tail = node;
             size++;
+            modCount++;
         } else {
+            LinkedListNode<T> node = newNode(data, null, head);
             head.setPrev(node);
-            node.setNext(head);
             head = node;
             size++;
+            modCount++;
         }
     }
 
@@ -58,10 +104,11 @@ public class DoublyLinkedList<T> implements LinkedListInterface<T> {
             } else {
                 LinkedListNode<T> current = tail;
                 T del = current.getData();
-                current = current.getPrev();
-                current.setNext(null);
-                tail = current;
+                tail = current.getPrev();
+                tail.setNext(null);
+                recycle(current);
                 size--;
+                modCount++;
                 return del;
             }
         }
@@ -74,21 +121,97 @@ public class DoublyLinkedList<T> implements LinkedListInterface<T> {
         if (size == 0) {
             return null;
         } else if (size == 1) {
-            T del = head.getData();
+            LinkedListNode<T> current = head;
+            T del = current.getData();
             head = null;
             tail = null;
+            recycle(current);
             size--;
+            modCount++;
             return del;
         } else {
             LinkedListNode<T> current = head;
             T del = current.getData();
-            current = current.getNext();
-            head = current;
-            current.setPrev(null);
+            head = current.getNext();
+            head.setPrev(null);
+            recycle(current);
             size--;
+            modCount++;
             return del;
         }
     }
+
+
+    /**
+     * Adds {@code src[off, off + len)} to the back of the list in order. The
+     * new nodes are chained together first and linked onto the tail once,
+     * with a single size and modification count update.
+     *
+     * @param src the array to add from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null, in which case nothing is added
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    public void addAll(T[] src, int off, int len) {
+        Batches.checkSource(src, off, len);
+        if (len == 0) {
+            return;
+        }
+        LinkedListNode<T> first = newNode(src[off], tail, null);
+        LinkedListNode<T> last = first;
+        for (int i = off + 1; i < off + len; i++) {
+            LinkedListNode<T> node = newNode(src[i], last, null);
+            last.setNext(node);
+            last = node;
+        }
+        if (tail == null) {
+            head = first;
+        } else {
+            tail.setNext(first);
+        }
+        tail = last;
+        size += len;
+        modCount++;
+    }
+
+
+    /**
+     * Removes up to {@code max} elements from the front of the list into
+     * {@code dst}, unlinking them from the list in one step.
+     *
+     * @param dst the array to remove into, filled from index 0
+     * @param max the most elements to remove
+     * @return the number of elements removed
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    public int removeFromFront(T[] dst, int max) {
+        int count = Math.min(Batches.checkDestination(dst, max), size);
+        if (count == 0) {
+            return 0;
+        }
+        LinkedListNode<T> current = head;
+        for (int i = 0; i < count; i++) {
+            LinkedListNode<T> next = current.getNext();
+            dst[i] = current.getData();
+            recycle(current);
+            current = next;
+        }
+        head = current;
+        if (current == null) {
+            tail = null;
+        } else {
+            current.setPrev(null);
+        }
+        size -= count;
+        modCount++;
+        return count;
+    }
+
+
     @Override
     public boolean isEmpty() {
         return head == null;
@@ -101,6 +224,236 @@ public class DoublyLinkedList<T> implements LinkedListInterface<T> {
     }
 
 
+    /**
+     * Returns a fail-fast iterator over the list from head to tail.
+     *
+     * @return an iterator over the data in the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new NodeIterator();
+    }
+
+
+    /**
+     * Returns a late-binding, fail-fast spliterator over the list. It splits
+     * off growing batches of elements copied into arrays, so a parallel
+     * stream can hand them to other threads without copying the whole list.
+     *
+     * @return a spliterator over the data in the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator();
+    }
+
+
+    /**
+     * Returns a sequential stream over the data in the list.
+     *
+     * @return a stream of the list's data
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+
+    /**
+     * Returns a possibly parallel stream over the data in the list.
+     *
+     * @return a parallel stream of the list's data
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+
+    /**
+     * Returns the number of node allocations served from the node pool.
+     *
+     * @return the number of pool hits
+     */
+    public long getPoolHits() {
+        return poolHits;
+    }
+
+
+    /**
+     * Returns the number of node allocations the node pool could not serve.
+     *
+     * @return the number of pool misses
+     */
+    public long getPoolMisses() {
+        return poolMisses;
+    }
+
+
+    /**
+     * Returns a node holding {@code data} with the given links, reusing a
+     * pooled node when one is available.
+     *
+     * @param data the data the node should hold
+     * @param prev the node that should precede it
+     * @param next the node that should follow it
+     * @return the node
+     */
+    private LinkedListNode<T> newNode(T data, LinkedListNode<T> prev,
+                                      LinkedListNode<T> next) {
+        if (freeNodes == null) {
+            poolMisses++;
+            return new LinkedListNode<T>(data, prev, next);
+        }
+        poolHits++;
+        LinkedListNode<T> node = freeNodes;
+        freeNodes = node.getNext();
+        freeCount--;
+        node.setData(data);
+        node.setPrev(prev);
+        node.setNext(next);
+        return node;
+    }
+
+
+    /**
+     * Puts a node that was just unlinked back into the node pool, clearing
+     * its data so the pool does not keep removed elements alive.
+     *
+     * @param node the node that was removed
+     */
+    private void recycle(LinkedListNode<T> node) {
+        if (freeCount < poolCapacity) {
+            node.setData(null);
+            node.setPrev(null);
+            node.setNext(freeNodes);
+            freeNodes = node;
+            freeCount++;
+        }
+    }
+
+
+    /**
+     * Iterator that walks the nodes and fails fast on structural changes.
+     */
+    private class NodeIterator implements Iterator<T> {
+        private LinkedListNode<T> current = head;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (current == null) {
+                throw new NoSuchElementException("No more elements.");
+            }
+            T data = current.getData();
+            current = current.getNext();
+            return data;
+        }
+    }
+
+
+    /**
+     * Spliterator that walks the nodes and splits off arrays of
+     * {@code BATCH_UNIT}, 2 * {@code BATCH_UNIT}, ... elements at a time.
+     */
+    private class NodeSpliterator implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private LinkedListNode<T> current;
+        private int remaining = -1;
+        private int expectedModCount;
+        private int batch;
+
+        /**
+         * Binds to the list on first use rather than on creation.
+         *
+         * @return the number of elements left to traverse
+         */
+        private int bind() {
+            if (remaining < 0) {
+                current = head;
+                remaining = size;
+                expectedModCount = modCount;
+            }
+            return remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (bind() > 0 && current != null) {
+                T data = current.getData();
+                current = current.getNext();
+                remaining--;
+                action.accept(data);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int n = bind();
+            LinkedListNode<T> node = current;
+            current = null;
+            remaining = 0;
+            for (int i = 0; i < n && node != null; i++) {
+                action.accept(node.getData());
+                node = node.getNext();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int s = bind();
+            if (s <= 1 || current == null) {
+                return null;
+            }
+            int n = Math.min(Math.min(batch + BATCH_UNIT, s), MAX_BATCH);
+            Object[] array = new Object[n];
+            int j = 0;
+            while (j < n && current != null) {
+                array[j] = current.getData();
+                current = current.getNext();
+                j++;
+            }
+            batch = j;
+            remaining = s - j;
+            return Spliterators.spliterator(array, 0, j,
+                    Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public long estimateSize() {
+            return bind();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED
+                    | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
+
     // DO NOT MODIFY CODE OR USE CODE BEYOND THIS POINT.
 
 
@@ -0,0 +1,129 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A Queue of {@code int} values backed by an {@code int[]}, so that
+ * enqueuing IDs or indices does not box every value the way an
+ * {@code ArrayQueue<Integer>} does. Enqueue and dequeue allocate nothing
+ * except when the array grows.
+ *
+ * It grows and wraps exactly like {@code ArrayQueue}: it starts with
+ * {@code INITIAL_CAPACITY} slots, doubles when full, and unwraps the
+ * contents to index 0 when it grows. Dequeued slots are zeroed, the
+ * primitive stand-in for nulling them.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class IntArrayQueue {
+
+    private int[] backingArray;
+    private int size;
+    private int back;
+    private int front;
+
+    /**
+     * Constructs a Queue with an initial capacity of
+     * {@code QueueInterface.INITIAL_CAPACITY}.
+     */
+    public IntArrayQueue() {
+        this(QueueInterface.INITIAL_CAPACITY);
+    }
+
+
+    /**
+     * Constructs a Queue with the specified initial capacity of
+     * {@code initialCapacity}.
+     *
+     * @param initialCapacity the initial capacity of the backing array
+     * @throws IllegalArgumentException if {@code initialCapacity} is
+     * negative
+     */
+    public IntArrayQueue(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be"
+                    + " negative.");
+        }
+        backingArray = new int[initialCapacity];
+        front = 0;
+        back = -1;
+    }
+
+
+    /**
+     * Enqueues {@code data} at the back of the queue, doubling the array
+     * first if it is full.
+     *
+     * @param data the data to add
+     */
+    public void enqueue(int data) {
+        if (size == backingArray.length) {
+            grow();
+        }
+        back = (back + 1) % backingArray.length;
+        backingArray[back] = data;
+        size++;
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue.
+     *
+     * @return the data from the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public int dequeue() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        int data = backingArray[front];
+        backingArray[front] = 0;
+        front = (front + 1) % backingArray.length;
+        size--;
+        return data;
+    }
+
+
+    /**
+     * Returns the size of the queue as an integer.
+     *
+     * @return number of items in the queue
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Return true if empty, false otherwise.
+     *
+     * @return boolean representing whether the queue is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Doubles the backing array, unwrapping the contents so that the front
+     * is at index 0.
+     */
+    private void grow() {
+        int[] newArray = new int[Math.max(backingArray.length * 2, 1)];
+        int wrapped = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, newArray, 0, wrapped);
+        System.arraycopy(backingArray, 0, newArray, wrapped, size - wrapped);
+        front = 0;
+        back = size - 1;
+        backingArray = newArray;
+    }
+
+
+    /**
+     * Used for testing purposes.
+     *
+     * @return the backing array of this queue
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A Stack of {@code int} values backed by an {@code int[]}, so that
+ * pushing does not box every value the way an {@code ArrayStack<Integer>}
+ * does. Push and pop allocate nothing except when the array grows.
+ *
+ * It grows exactly like {@code ArrayStack}: it starts with
+ * {@code INITIAL_CAPACITY} slots and doubles when full. Popped slots are
+ * zeroed, the primitive stand-in for nulling them.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class IntArrayStack {
+
+    private int[] backingArray;
+    private int size;
+
+    /**
+     * Constructs a Stack with an initial capacity of
+     * {@code StackInterface.INITIAL_CAPACITY}.
+     */
+    public IntArrayStack() {
+        this(StackInterface.INITIAL_CAPACITY);
+    }
+
+
+    /**
+     * Constructs a Stack with the specified initial capacity of
+     * {@code initialCapacity}.
+     *
+     * @param initialCapacity the initial capacity of the backing array
+     * @throws IllegalArgumentException if {@code initialCapacity} is
+     * negative
+     */
+    public IntArrayStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be"
+                    + " negative.");
+        }
+        backingArray = new int[initialCapacity];
+    }
+
+
+    /**
+     * Pushes {@code data} onto the stack, doubling the array first if it
+     * is full.
+     *
+     * @param data the data to push
+     */
+    public void push(int data) {
+        if (size == backingArray.length) {
+            int[] newArray = new int[Math.max(backingArray.length * 2, 1)];
+            System.arraycopy(backingArray, 0, newArray, 0, size);
+            backingArray = newArray;
+        }
+        backingArray[size++] = data;
+    }
+
+
+    /**
+     * Pops the element at the top of the stack.
+     *
+     * @return the data from the top of the stack
+     * @throws NoSuchElementException if the stack is empty
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("Empty."
+                    + " Cannot pop from this stack.");
+        }
+        int data = backingArray[--size];
+        backingArray[size] = 0;
+        return data;
+    }
+
+
+    /**
+     * Returns the size of the stack as an integer.
+     *
+     * @return the number of items in the stack
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Return true if empty, false otherwise.
+     *
+     * @return boolean representing whether the stack is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Used for testing purposes.
+     *
+     * @return the backing array of this stack
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+}
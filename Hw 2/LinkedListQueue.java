@@ -13,7 +13,18 @@ public class LinkedListQueue<T> implements QueueInterface<T> {
      * Constructs an empty Queue.
      */
     public LinkedListQueue() {
-        backingList = new DoublyLinkedList<T>();
+        this(0);
+    }
+
+
+    /**
+     * Constructs an empty Queue whose backing list recycles up to
+     * {@code poolCapacity} dequeued nodes for later enqueues.
+     *
+     * @param poolCapacity the most dequeued nodes to keep, 0 to disable
+     */
+    public LinkedListQueue(int poolCapacity) {
+        backingList = new DoublyLinkedList<T>(poolCapacity);
     }
 
 
@@ -36,6 +47,38 @@ public class LinkedListQueue<T> implements QueueInterface<T> {
     }
 
 
+    /**
+     * Enqueues {@code src[off, off + len)} in order, linking the new nodes
+     * onto the back of the list in one step.
+     *
+     * @param src the array to enqueue from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null, in which case nothing is enqueued
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    public void enqueueAll(T[] src, int off, int len) {
+        ((DoublyLinkedList<T>) backingList).addAll(src, off, len);
+    }
+
+
+    /**
+     * Dequeues up to {@code max} elements into {@code dst}, front first,
+     * unlinking them from the list in one step.
+     *
+     * @param dst the array to drain into, filled from index 0
+     * @param max the most elements to dequeue
+     * @return the number of elements dequeued
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    public int drainTo(T[] dst, int max) {
+        return ((DoublyLinkedList<T>) backingList).removeFromFront(dst, max);
+    }
+
+
     @Override
     public int size() {
         return backingList.size();
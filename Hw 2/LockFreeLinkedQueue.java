@@ -0,0 +1,340 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/**
+ * An unbounded, lock-free Queue after Michael and Scott. It has the same
+ * semantics as {@code LinkedListQueue}, but any number of threads can
+ * enqueue and dequeue at once.
+ *
+ * The list always starts with a sentinel node. Enqueue CASes the new node
+ * onto the last node's next and then swings tail. Dequeue swings head to
+ * the sentinel's successor, which becomes the new sentinel. A thread that
+ * finds tail lagging helps advance it first.
+ *
+ * Head, tail and every next reference carry a stamp, the counted pointers
+ * of the original paper. That lets dequeued nodes be recycled for later
+ * enqueues without ABA problems: a thread still holding an old reference
+ * to a recycled node finds the stamp changed and retries. Recycling is
+ * optional and bounded by the pool capacity given to the constructor.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class LockFreeLinkedQueue<T> implements QueueInterface<T> {
+
+    private final AtomicStampedReference<Node<T>> head;
+    private final AtomicStampedReference<Node<T>> tail;
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Recycled nodes, kept as a stamped Treiber stack through next.
+    private final AtomicStampedReference<Node<T>> freeNodes =
+            new AtomicStampedReference<Node<T>>(null, 0);
+    private final AtomicInteger freeCount = new AtomicInteger();
+    private final int poolCapacity;
+
+    /**
+     * Constructs an empty Queue that does not recycle nodes.
+     */
+    public LockFreeLinkedQueue() {
+        this(0);
+    }
+
+
+    /**
+     * Constructs an empty Queue that recycles up to {@code poolCapacity}
+     * dequeued nodes for later enqueues.
+     *
+     * @param poolCapacity the most dequeued nodes to keep, 0 to disable
+     * @throws IllegalArgumentException if {@code poolCapacity} is negative
+     */
+    public LockFreeLinkedQueue(int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("Pool capacity cannot be"
+                    + " negative.");
+        }
+        this.poolCapacity = poolCapacity;
+        Node<T> sentinel = new Node<T>();
+        head = new AtomicStampedReference<Node<T>>(sentinel, 0);
+        tail = new AtomicStampedReference<Node<T>>(sentinel, 0);
+    }
+
+
+    @Override
+    public void enqueue(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot enqueue null data.");
+        }
+        Node<T> create = obtainNode(data);
+        int[] tailStamp = new int[1];
+        int[] nextStamp = new int[1];
+        while (true) {
+            Node<T> last = tail.get(tailStamp);
+            Node<T> next = last.next.get(nextStamp);
+            if (last != tail.getReference()
+                    || tailStamp[0] != tail.getStamp()) {
+                continue;
+            }
+            if (next == null) {
+                if (last.next.compareAndSet(null, create, nextStamp[0],
+                        nextStamp[0] + 1)) {
+                    tail.compareAndSet(last, create, tailStamp[0],
+                            tailStamp[0] + 1);
+                    size.incrementAndGet();
+                    return;
+                }
+            } else {
+                tail.compareAndSet(last, next, tailStamp[0],
+                        tailStamp[0] + 1);
+            }
+        }
+    }
+
+
+    /**
+     * Enqueues {@code src[off, off + len)} in order. The new nodes are
+     * chained together first, so the whole batch is linked with a single
+     * CAS on the last node's next.
+     *
+     * @param src the array to enqueue from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null, in which case nothing is enqueued
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    public void enqueueAll(T[] src, int off, int len) {
+        Batches.checkSource(src, off, len);
+        if (len == 0) {
+            return;
+        }
+        Node<T> chainFirst = obtainNode(src[off]);
+        Node<T> chainLast = chainFirst;
+        for (int i = off + 1; i < off + len; i++) {
+            Node<T> create = obtainNode(src[i]);
+            chainLast.next.set(create, chainLast.next.getStamp() + 1);
+            chainLast = create;
+        }
+        int[] tailStamp = new int[1];
+        int[] nextStamp = new int[1];
+        while (true) {
+            Node<T> last = tail.get(tailStamp);
+            Node<T> next = last.next.get(nextStamp);
+            if (last != tail.getReference()
+                    || tailStamp[0] != tail.getStamp()) {
+                continue;
+            }
+            if (next == null) {
+                if (last.next.compareAndSet(null, chainFirst, nextStamp[0],
+                        nextStamp[0] + 1)) {
+                    tail.compareAndSet(last, chainLast, tailStamp[0],
+                            tailStamp[0] + 1);
+                    size.addAndGet(len);
+                    return;
+                }
+            } else {
+                tail.compareAndSet(last, next, tailStamp[0],
+                        tailStamp[0] + 1);
+            }
+        }
+    }
+
+
+    @Override
+    public T dequeue() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        return data;
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue if there is one.
+     * Never blocks.
+     *
+     * @return the data from the front of the queue, or null if it is empty
+     */
+    public T poll() {
+        int[] headStamp = new int[1];
+        int[] tailStamp = new int[1];
+        while (true) {
+            Node<T> first = head.get(headStamp);
+            Node<T> last = tail.get(tailStamp);
+            Node<T> next = first.next.getReference();
+            if (first != head.getReference()
+                    || headStamp[0] != head.getStamp()) {
+                continue;
+            }
+            if (first == last) {
+                if (next == null) {
+                    return null;
+                }
+                tail.compareAndSet(last, next, tailStamp[0],
+                        tailStamp[0] + 1);
+            } else if (next != null) {
+                // read before the CAS, the node may be recycled right after
+                T data = next.data;
+                if (head.compareAndSet(first, next, headStamp[0],
+                        headStamp[0] + 1)) {
+                    if (poolCapacity == 0) {
+                        // with a pool, next may already be reused by now
+                        next.data = null;
+                    }
+                    size.decrementAndGet();
+                    recycle(first);
+                    return data;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * De-queues up to {@code max} elements into {@code dst}, front first.
+     * The elements are read first and then all unlinked with a single CAS
+     * on head. A batch never reaches past the node tail points to.
+     *
+     * @param dst the array to drain into, filled from index 0
+     * @param max the most elements to dequeue
+     * @return the number of elements dequeued
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    public int drainTo(T[] dst, int max) {
+        int limit = Batches.checkDestination(dst, max);
+        if (limit == 0) {
+            return 0;
+        }
+        int[] headStamp = new int[1];
+        int[] tailStamp = new int[1];
+        while (true) {
+            Node<T> first = head.get(headStamp);
+            Node<T> last = tail.get(tailStamp);
+            Node<T> next = first.next.getReference();
+            if (first != head.getReference()
+                    || headStamp[0] != head.getStamp()) {
+                continue;
+            }
+            if (first == last) {
+                if (next == null) {
+                    return 0;
+                }
+                tail.compareAndSet(last, next, tailStamp[0],
+                        tailStamp[0] + 1);
+                continue;
+            }
+            Node<T> current = first;
+            int count = 0;
+            while (count < limit && current != last) {
+                current = current.next.getReference();
+                if (current == null) {
+                    // walked into a recycled node, head must have moved
+                    break;
+                }
+                dst[count++] = current.data;
+            }
+            if (current != null && head.compareAndSet(first, current,
+                    headStamp[0], headStamp[0] + 1)) {
+                if (poolCapacity == 0) {
+                    current.data = null;
+                }
+                size.addAndGet(-count);
+                while (first != current) {
+                    Node<T> unlinked = first;
+                    first = first.next.getReference();
+                    recycle(unlinked);
+                }
+                return count;
+            }
+            java.util.Arrays.fill(dst, 0, count, null);
+        }
+    }
+
+
+    /**
+     * Returns the number of elements in the queue. Only a snapshot while
+     * other threads are enqueuing or dequeuing.
+     *
+     * @return number of items in the queue
+     */
+    @Override
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        int[] headStamp = new int[1];
+        while (true) {
+            Node<T> first = head.get(headStamp);
+            Node<T> next = first.next.getReference();
+            if (headStamp[0] == head.getStamp()) {
+                return next == null;
+            }
+        }
+    }
+
+
+    /**
+     * Takes a recycled node if there is one, otherwise allocates a new one.
+     *
+     * @param data the data the node should hold
+     * @return a node holding {@code data} with a null next
+     */
+    private Node<T> obtainNode(T data) {
+        int[] stamp = new int[1];
+        while (poolCapacity > 0) {
+            Node<T> top = freeNodes.get(stamp);
+            if (top == null) {
+                break;
+            }
+            Node<T> below = top.next.getReference();
+            if (freeNodes.compareAndSet(top, below, stamp[0], stamp[0] + 1)) {
+                freeCount.decrementAndGet();
+                top.data = data;
+                top.next.set(null, top.next.getStamp() + 1);
+                return top;
+            }
+        }
+        Node<T> create = new Node<T>();
+        create.data = data;
+        return create;
+    }
+
+
+    /**
+     * Pushes a node that has just left the queue onto the free stack, if
+     * the pool has room.
+     *
+     * @param node the old sentinel node
+     */
+    private void recycle(Node<T> node) {
+        if (freeCount.get() >= poolCapacity) {
+            return;
+        }
+        freeCount.incrementAndGet();
+        node.data = null;
+        int[] stamp = new int[1];
+        while (true) {
+            Node<T> top = freeNodes.get(stamp);
+            node.next.set(top, node.next.getStamp() + 1);
+            if (freeNodes.compareAndSet(top, node, stamp[0], stamp[0] + 1)) {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * A queue node whose next reference carries a modification stamp.
+     */
+    private static class Node<T> {
+        private volatile T data;
+        private final AtomicStampedReference<Node<T>> next =
+                new AtomicStampedReference<Node<T>>(null, 0);
+    }
+}
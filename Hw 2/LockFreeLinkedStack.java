@@ -0,0 +1,193 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An unbounded, lock-free Stack after Treiber, with an elimination array
+ * for backoff. It has the same semantics as {@code LinkedListStack}, but
+ * any number of threads can push and pop at once.
+ *
+ * Push and pop CAS the top reference. A thread whose CAS fails does not
+ * retry straight away. It visits a random slot of the elimination array
+ * first. A pusher leaves its node in an empty slot for a short spin. A
+ * popper that finds a node in a slot takes it. The two calls then cancel
+ * out without touching top, which is the one reference every thread is
+ * fighting over. If nobody shows up, the thread goes back to the stack.
+ *
+ * Nodes are never reused, so the garbage collector already rules out ABA
+ * on top.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class LockFreeLinkedStack<T> implements StackInterface<T> {
+
+    // How many times a pusher re-reads its slot waiting for a popper.
+    private static final int ELIMINATION_SPINS = 64;
+
+    private final AtomicReference<Node<T>> top =
+            new AtomicReference<Node<T>>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicReferenceArray<Node<T>> elimination;
+
+    /**
+     * Constructs an empty Stack with an elimination slot for every two
+     * available processors.
+     */
+    public LockFreeLinkedStack() {
+        this(Math.max(Runtime.getRuntime().availableProcessors() / 2, 1));
+    }
+
+
+    /**
+     * Constructs an empty Stack with the given number of elimination slots.
+     * With no slots, a thread whose CAS fails just retries on the stack.
+     *
+     * @param eliminationSlots the length of the elimination array
+     * @throws IllegalArgumentException if {@code eliminationSlots} is
+     * negative
+     */
+    public LockFreeLinkedStack(int eliminationSlots) {
+        if (eliminationSlots < 0) {
+            throw new IllegalArgumentException("Elimination slots can't be"
+                    + " negative.");
+        }
+        elimination = new AtomicReferenceArray<Node<T>>(eliminationSlots);
+    }
+
+
+    @Override
+    public void push(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Can't push null data.");
+        }
+        Node<T> create = new Node<T>(data);
+        while (true) {
+            Node<T> first = top.get();
+            create.next = first;
+            if (top.compareAndSet(first, create)) {
+                size.incrementAndGet();
+                return;
+            }
+            if (offerToPopper(create)) {
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public T pop() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("Stack's empty.");
+        }
+        return data;
+    }
+
+
+    /**
+     * Pops the element at the top of the stack if there is one. Never
+     * blocks.
+     *
+     * @return the data from the top of the stack, or null if it is empty
+     */
+    public T poll() {
+        while (true) {
+            Node<T> first = top.get();
+            if (first == null) {
+                return null;
+            }
+            if (top.compareAndSet(first, first.next)) {
+                size.decrementAndGet();
+                return first.data;
+            }
+            Node<T> taken = takeFromPusher();
+            if (taken != null) {
+                return taken.data;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the number of elements in the stack. Only a snapshot while
+     * other threads are pushing or popping.
+     *
+     * @return number of items in the stack
+     */
+    @Override
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+
+    /**
+     * Leaves {@code node} in a random empty elimination slot and busy-spins
+     * briefly, waiting for a popper to take it. It does not yield, since a
+     * popper that is coming is already running on another processor.
+     *
+     * @param node the node the caller is trying to push
+     * @return true if a popper took the node, false to retry on the stack
+     */
+    private boolean offerToPopper(Node<T> node) {
+        if (elimination.length() == 0) {
+            return false;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        if (!elimination.compareAndSet(slot, null, node)) {
+            return false;
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (elimination.get(slot) != node) {
+                return true;
+            }
+        }
+        // a failed withdrawal means a popper got there first
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+
+    /**
+     * Takes a node a pusher left in a random elimination slot, if any.
+     *
+     * @return the node taken, or null if the slot was empty
+     */
+    private Node<T> takeFromPusher() {
+        if (elimination.length() == 0) {
+            return null;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        Node<T> offered = elimination.get(slot);
+        if (offered != null && elimination.compareAndSet(slot, offered, null)) {
+            return offered;
+        }
+        return null;
+    }
+
+
+    /**
+     * A stack node. next is only written before the node is published.
+     */
+    private static class Node<T> {
+        private final T data;
+        private Node<T> next;
+
+        /**
+         * Creates a node holding {@code data}.
+         *
+         * @param data the data to hold
+         */
+        Node(T data) {
+            this.data = data;
+        }
+    }
+}
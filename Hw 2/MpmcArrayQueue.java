@@ -0,0 +1,264 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free Queue that any number of threads may enqueue to and
+ * dequeue from at once, after Dmitry Vyukov's bounded MPMC queue.
+ *
+ * Every slot carries a sequence number saying whose turn it is. A
+ * producer claims position p by CAS on the enqueue counter once slot
+ * p has sequence p. It then writes the data and releases the slot with
+ * sequence p + 1. A consumer claims position p once the slot has sequence
+ * p + 1, and hands it back for the next lap with sequence p + capacity.
+ * Producers and consumers only contend with their own kind, on
+ * separately padded counters.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class MpmcArrayQueue<T> implements QueueInterface<T> {
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final PaddedSequence enqueuePosition = new PaddedSequence(0);
+    private final PaddedSequence dequeuePosition = new PaddedSequence(0);
+
+    /**
+     * Constructs a Queue that holds {@code capacity} elements, rounded up to
+     * a power of two of at least 2.
+     *
+     * @param capacity the number of elements the queue can hold
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     * or is larger than 2^30
+     */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1"
+                    + " and 2^30.");
+        }
+        int length = Math.max(Integer.highestOneBit(capacity), 2);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        buffer = new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+        mask = length - 1;
+    }
+
+
+    /**
+     * Enqueues {@code data} at the back of the queue.
+     *
+     * @param data the data to add
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public void enqueue(T data) {
+        if (!offer(data)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+
+    /**
+     * Enqueues {@code data} at the back of the queue if there is room.
+     * Never blocks.
+     *
+     * @param data the data to add
+     * @return true if it was added, false if the queue is full
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot enqueue null data.");
+        }
+        long position = enqueuePosition.value;
+        int slot;
+        while (true) {
+            slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = enqueuePosition.value;
+            } else if (difference < 0) {
+                // the slot still holds data from the previous lap
+                return false;
+            } else {
+                position = enqueuePosition.value;
+            }
+        }
+        buffer[slot] = data;
+        sequences.lazySet(slot, position + 1);
+        return true;
+    }
+
+
+    /**
+     * Enqueues as many of {@code src[off, off + len)} as there is room for,
+     * in order. The run of free slots is claimed with a single CAS on the
+     * enqueue counter. Never blocks.
+     *
+     * @param src the array to enqueue from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @return the number of elements enqueued, from {@code src[off]} on
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null, in which case nothing is enqueued
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    public int offerAll(T[] src, int off, int len) {
+        Batches.checkSource(src, off, len);
+        if (len == 0) {
+            return 0;
+        }
+        long position;
+        int count;
+        do {
+            position = enqueuePosition.value;
+            count = 0;
+            while (count < len && sequences.get((int) (position + count)
+                    & mask) == position + count) {
+                count++;
+            }
+            if (count == 0 && sequences.get((int) position & mask)
+                    < position) {
+                return 0;
+            }
+        } while (count == 0
+                || !enqueuePosition.compareAndSet(position, position + count));
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (position + i) & mask;
+            buffer[slot] = src[off + i];
+            sequences.lazySet(slot, position + i + 1);
+        }
+        return count;
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue.
+     *
+     * @return the data from the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    @Override
+    public T dequeue() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        return data;
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue if there is one.
+     * Never blocks.
+     *
+     * @return the data from the front of the queue, or null if it is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long position = dequeuePosition.value;
+        int slot;
+        while (true) {
+            slot = (int) position & mask;
+            long difference = sequences.get(slot) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = dequeuePosition.value;
+            } else if (difference < 0) {
+                // no producer has filled this slot yet
+                return null;
+            } else {
+                position = dequeuePosition.value;
+            }
+        }
+        T data = (T) buffer[slot];
+        buffer[slot] = null;
+        sequences.lazySet(slot, position + mask + 1);
+        return data;
+    }
+
+
+    /**
+     * De-queues up to {@code max} elements into {@code dst}, front first.
+     * The run of filled slots is claimed with a single CAS on the dequeue
+     * counter. Never blocks.
+     *
+     * @param dst the array to drain into, filled from index 0
+     * @param max the most elements to dequeue
+     * @return the number of elements dequeued
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(T[] dst, int max) {
+        int limit = Batches.checkDestination(dst, max);
+        if (limit == 0) {
+            return 0;
+        }
+        long position;
+        int count;
+        do {
+            position = dequeuePosition.value;
+            count = 0;
+            while (count < limit && sequences.get((int) (position + count)
+                    & mask) == position + count + 1) {
+                count++;
+            }
+            if (count == 0 && sequences.get((int) position & mask)
+                    < position + 1) {
+                return 0;
+            }
+        } while (count == 0
+                || !dequeuePosition.compareAndSet(position, position + count));
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (position + i) & mask;
+            dst[i] = (T) buffer[slot];
+            buffer[slot] = null;
+            sequences.lazySet(slot, position + i + mask + 1);
+        }
+        return count;
+    }
+
+
+    /**
+     * Returns the number of elements in the queue. Only a snapshot while
+     * other threads are enqueuing or dequeuing.
+     *
+     * @return number of items in the queue
+     */
+    @Override
+    public int size() {
+        long front = dequeuePosition.value;
+        long back = enqueuePosition.value;
+        return (int) Math.min(Math.max(back - front, 0), buffer.length);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    /**
+     * Returns the number of elements the queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
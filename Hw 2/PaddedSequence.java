@@ -0,0 +1,69 @@
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A {@code long} sequence counter padded on both sides so that it sits on
+ * its own cache line, used by the concurrent queues to keep their producer
+ * and consumer counters from false sharing.
+ *
+ * {@code cache} is a plain field for the owning thread to keep its last
+ * reading of some other sequence next to its own.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+final class PaddedSequence extends PaddedSequenceValue {
+
+    private static final AtomicLongFieldUpdater<PaddedSequenceValue> VALUE =
+            AtomicLongFieldUpdater.newUpdater(PaddedSequenceValue.class,
+                    "value");
+
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    /**
+     * Creates a sequence starting at {@code initialValue}.
+     *
+     * @param initialValue the starting value
+     */
+    PaddedSequence(long initialValue) {
+        value = initialValue;
+    }
+
+
+    /**
+     * Publishes a new value with release ordering only.
+     *
+     * @param newValue the value to publish
+     */
+    void lazySet(long newValue) {
+        VALUE.lazySet(this, newValue);
+    }
+
+
+    /**
+     * Atomically sets the value if it still equals {@code expected}.
+     *
+     * @param expected the value the caller last read
+     * @param newValue the value to set
+     * @return true if the value was set
+     */
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
+
+
+/**
+ * Padding placed before the sequence value.
+ */
+abstract class PaddedSequenceLeft {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+
+/**
+ * The sequence value and its owner's cached reading of another sequence.
+ */
+abstract class PaddedSequenceValue extends PaddedSequenceLeft {
+    volatile long value;
+    long cache;
+}
@@ -0,0 +1,140 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A Queue backed by a circular array whose length is always a power of two,
+ * so wrapping an index is a bitmask instead of a modulo.
+ *
+ * Growing doubles the array and copies the two halves of the wrapped
+ * contents with two {@code System.arraycopy} calls. Unlike
+ * {@code ArrayQueue} it also shrinks: once a dequeue leaves the array a
+ * quarter full it is halved, which leaves it half full so that a burst of
+ * enqueues does not immediately grow it again.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class RingBufferQueue<T> implements QueueInterface<T> {
+
+    private T[] backingArray;
+    private int mask;
+    private int front;
+    private int size;
+    private final int minimumCapacity;
+
+    /**
+     * Constructs a Queue with an initial capacity of {@code INITIAL_CAPACITY}
+     * rounded up to a power of two.
+     */
+    public RingBufferQueue() {
+        this(INITIAL_CAPACITY);
+    }
+
+
+    /**
+     * Constructs a Queue with the specified initial capacity rounded up to a
+     * power of two. The array never shrinks below this capacity.
+     *
+     * @param initialCapacity the initial capacity of the backing array
+     * @throws IllegalArgumentException if {@code initialCapacity} is not
+     * positive or is too large to round up to a power of two
+     */
+    public RingBufferQueue(int initialCapacity) {
+        if (initialCapacity <= 0 || initialCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1"
+                    + " and 2^30.");
+        }
+        int capacity = Integer.highestOneBit(initialCapacity);
+        if (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        minimumCapacity = capacity;
+        backingArray = newArray(capacity);
+        mask = capacity - 1;
+    }
+
+
+    @Override
+    public void enqueue(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot enqueue null data.");
+        }
+        if (size == backingArray.length) {
+            if (size == 1 << 30) {
+                throw new IllegalStateException("Queue cannot grow past"
+                        + " 2^30 elements.");
+            }
+            resize(backingArray.length << 1);
+        }
+        backingArray[(front + size) & mask] = data;
+        size++;
+    }
+
+
+    @Override
+    public T dequeue() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        T data = backingArray[front];
+        backingArray[front] = null;
+        front = (front + 1) & mask;
+        size--;
+        if (size <= backingArray.length >> 2
+                && backingArray.length > minimumCapacity) {
+            resize(backingArray.length >> 1);
+        }
+        return data;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Moves the contents into a new array of {@code capacity}, unwrapping
+     * them so that the front is at index 0.
+     *
+     * @param capacity the new length, a power of two no less than size
+     */
+    private void resize(int capacity) {
+        T[] newArray = newArray(capacity);
+        int firstPart = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, newArray, 0, firstPart);
+        System.arraycopy(backingArray, 0, newArray, firstPart,
+                size - firstPart);
+        backingArray = newArray;
+        mask = capacity - 1;
+        front = 0;
+    }
+
+
+    /**
+     * Creates a backing array of the given length.
+     *
+     * @param capacity the length of the array
+     * @return the new array
+     */
+    @SuppressWarnings("unchecked")
+    private T[] newArray(int capacity) {
+        return (T[]) new Object[capacity];
+    }
+
+
+    /**
+     * Used for testing purposes.
+     *
+     * @return the backing array of this queue
+     */
+    public Object[] getBackingArray() {
+        return backingArray;
+    }
+}
@@ -0,0 +1,222 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A bounded, lock-free Queue for exactly one producer thread and one
+ * consumer thread. Only the producer may call {@code enqueue}/{@code offer}
+ * and only the consumer may call {@code dequeue}/{@code poll}.
+ *
+ * The head and tail sequences live in separately padded objects so the two
+ * threads never write the same cache line. Each side publishes its
+ * sequence with a release store ({@code lazySet}), and keeps a cached copy
+ * of the other side's sequence. The other side's sequence is only re-read
+ * when the cache says the queue looks full (or empty).
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class SpscRingQueue<T> implements QueueInterface<T> {
+
+    private final Object[] buffer;
+    private final int mask;
+
+    // Written by the consumer; cache holds the last tail it read.
+    private final PaddedSequence head = new PaddedSequence(0);
+    // Written by the producer; cache holds the last head it read.
+    private final PaddedSequence tail = new PaddedSequence(0);
+
+    /**
+     * Constructs a Queue that holds {@code capacity} elements, rounded up to
+     * a power of two.
+     *
+     * @param capacity the number of elements the queue can hold
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     * or is larger than 2^30
+     */
+    public SpscRingQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1"
+                    + " and 2^30.");
+        }
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        buffer = new Object[length];
+        mask = length - 1;
+    }
+
+
+    /**
+     * Enqueues {@code data} at the back of the queue. Producer thread only.
+     *
+     * @param data the data to add
+     * @throws IllegalArgumentException if {@code data} is null
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public void enqueue(T data) {
+        if (!offer(data)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+
+    /**
+     * Enqueues {@code data} at the back of the queue if there is room.
+     * Producer thread only.
+     *
+     * @param data the data to add
+     * @return true if it was added, false if the queue is full
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Cannot enqueue null data.");
+        }
+        long back = tail.value;
+        if (back - tail.cache >= buffer.length) {
+            tail.cache = head.value;
+            if (back - tail.cache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) back & mask] = data;
+        tail.lazySet(back + 1);
+        return true;
+    }
+
+
+    /**
+     * Enqueues as many of {@code src[off, off + len)} as there is room for,
+     * in order, with at most two array copies and a single release of the
+     * tail. Producer thread only.
+     *
+     * @param src the array to enqueue from
+     * @param off the index of the first element
+     * @param len the number of elements
+     * @return the number of elements enqueued, from {@code src[off]} on
+     * @throws IllegalArgumentException if {@code src} or any element in the
+     * range is null, in which case nothing is enqueued
+     * @throws IndexOutOfBoundsException if the range is not within
+     * {@code src}
+     */
+    public int offerAll(T[] src, int off, int len) {
+        Batches.checkSource(src, off, len);
+        long back = tail.value;
+        if (buffer.length - (back - tail.cache) < len) {
+            tail.cache = head.value;
+        }
+        int count = (int) Math.min(len, buffer.length - (back - tail.cache));
+        if (count == 0) {
+            return 0;
+        }
+        int start = (int) back & mask;
+        int firstPart = Math.min(count, buffer.length - start);
+        System.arraycopy(src, off, buffer, start, firstPart);
+        System.arraycopy(src, off + firstPart, buffer, 0, count - firstPart);
+        tail.lazySet(back + count);
+        return count;
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue. Consumer thread only.
+     *
+     * @return the data from the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    @Override
+    public T dequeue() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        return data;
+    }
+
+
+    /**
+     * De-queues the element at the front of the queue if there is one.
+     * Consumer thread only.
+     *
+     * @return the data from the front of the queue, or null if it is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long front = head.value;
+        if (front >= head.cache) {
+            head.cache = tail.value;
+            if (front >= head.cache) {
+                return null;
+            }
+        }
+        int slot = (int) front & mask;
+        T data = (T) buffer[slot];
+        buffer[slot] = null;
+        head.lazySet(front + 1);
+        return data;
+    }
+
+
+    /**
+     * De-queues up to {@code max} elements into {@code dst}, front first,
+     * with at most two array copies and a single release of the head.
+     * Consumer thread only.
+     *
+     * @param dst the array to drain into, filled from index 0
+     * @param max the most elements to dequeue
+     * @return the number of elements dequeued
+     * @throws IllegalArgumentException if {@code dst} is null or
+     * {@code max} is negative
+     */
+    public int drainTo(T[] dst, int max) {
+        int limit = Batches.checkDestination(dst, max);
+        long front = head.value;
+        if (head.cache - front < limit) {
+            head.cache = tail.value;
+        }
+        int count = (int) Math.min(limit, head.cache - front);
+        if (count == 0) {
+            return 0;
+        }
+        int start = (int) front & mask;
+        int firstPart = Math.min(count, buffer.length - start);
+        System.arraycopy(buffer, start, dst, 0, firstPart);
+        System.arraycopy(buffer, 0, dst, firstPart, count - firstPart);
+        java.util.Arrays.fill(buffer, start, start + firstPart, null);
+        java.util.Arrays.fill(buffer, 0, count - firstPart, null);
+        head.lazySet(front + count);
+        return count;
+    }
+
+
+    /**
+     * Returns the number of elements in the queue. Exact when called from
+     * the producer or consumer while the other side is idle, and a snapshot
+     * otherwise.
+     *
+     * @return number of items in the queue
+     */
+    @Override
+    public int size() {
+        long front = head.value;
+        long back = tail.value;
+        return (int) Math.min(Math.max(back - front, 0), buffer.length);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    /**
+     * Returns the number of elements the queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
@@ -0,0 +1,930 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Timing runs for the stacks and queues. Pass the names of the benchmarks
+ * to run, or nothing to run all of them:
+ *
+ * <pre>
+ *     java StacksQueuesBenchmark pool ring
+ * </pre>
+ *
+ * These are plain timing loops, not a harness like JMH. Each benchmark
+ * repeats its measurement for {@code ROUNDS} rounds so that the JIT has
+ * compiled the code by the later ones, and only those should be read.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public final class StacksQueuesBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    /**
+     * Not instantiable.
+     */
+    private StacksQueuesBenchmark() {
+    }
+
+
+    /**
+     * Runs the benchmarks named in {@code args}, or all of them.
+     *
+     * @param args the benchmark names
+     * @throws Exception if a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> names = Arrays.asList(args);
+        if (names.isEmpty() || names.contains("pool")) {
+            pool();
+        }
+        if (names.isEmpty() || names.contains("ring")) {
+            ring();
+        }
+        if (names.isEmpty() || names.contains("spsc")) {
+            spsc();
+        }
+        if (names.isEmpty() || names.contains("mpmc")) {
+            mpmc();
+        }
+        if (names.isEmpty() || names.contains("msqueue")) {
+            msQueue();
+        }
+        if (names.isEmpty() || names.contains("treiber")) {
+            treiber();
+        }
+        if (names.isEmpty() || names.contains("workstealing")) {
+            workStealing();
+        }
+        if (names.isEmpty() || names.contains("blocking")) {
+            blocking();
+        }
+        if (names.isEmpty() || names.contains("batch")) {
+            batch();
+        }
+        if (names.isEmpty() || names.contains("primitive")) {
+            primitive();
+        }
+        if (names.isEmpty() || names.contains("disk")) {
+            disk();
+        }
+    }
+
+
+    /**
+     * Measures the bytes allocated and the time per {@code enqueue} and
+     * {@code dequeue} pair on a {@code LinkedListQueue} churning around
+     * 1000 elements, with and without a node pool. The elements are boxed
+     * up front, so only node allocation is counted.
+     */
+    private static void pool() {
+        int ops = 2000000;
+        Integer[] values = boxed(1024);
+        System.out.println("pool: " + ops + " enqueue/dequeue pairs");
+        System.out.println("    pool     bytes/pair  ns/pair");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int capacity : new int[] {0, 1024}) {
+                LinkedListQueue<Integer> queue =
+                        new LinkedListQueue<Integer>(capacity);
+                for (int i = 0; i < 1000; i++) {
+                    queue.enqueue(values[i]);
+                }
+                long bytes = allocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < ops; i++) {
+                    queue.enqueue(values[i & 1023]);
+                    queue.dequeue();
+                }
+                long nanos = System.nanoTime() - start;
+                bytes = allocatedBytes() - bytes;
+                check(queue.size() == 1000);
+                System.out.printf("    %-8d %10.1f %8.1f%n", capacity,
+                        bytes / (double) ops, nanos / (double) ops);
+            }
+        }
+    }
+
+
+    /**
+     * Compares {@code RingBufferQueue} with {@code ArrayQueue}. The steady
+     * run holds 1000 elements through 10M enqueue/dequeue pairs. The burst
+     * run fills each queue to 100k and drains it again 50 times, so the
+     * ring buffer grows and shrinks every time.
+     */
+    private static void ring() {
+        Integer[] values = boxed(1024);
+        System.out.println("ring: Mops/s");
+        System.out.println("    queue        steady   burst");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int kind = 0; kind < 2; kind++) {
+                QueueInterface<Integer> queue = kind == 0
+                        ? new ArrayQueue<Integer>()
+                        : new RingBufferQueue<Integer>();
+                int pairs = 10000000;
+                for (int i = 0; i < 1000; i++) {
+                    queue.enqueue(values[i]);
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < pairs; i++) {
+                    queue.enqueue(values[i & 1023]);
+                    queue.dequeue();
+                }
+                long steady = System.nanoTime() - start;
+                for (int i = 0; i < 1000; i++) {
+                    queue.dequeue();
+                }
+                int bursts = 50;
+                int burst = 100000;
+                start = System.nanoTime();
+                for (int b = 0; b < bursts; b++) {
+                    for (int i = 0; i < burst; i++) {
+                        queue.enqueue(values[i & 1023]);
+                    }
+                    for (int i = 0; i < burst; i++) {
+                        queue.dequeue();
+                    }
+                }
+                long bursting = System.nanoTime() - start;
+                check(queue.isEmpty());
+                System.out.printf("    %-12s %6.1f %7.1f%n",
+                        kind == 0 ? "ArrayQueue" : "RingBuffer",
+                        2e3 * pairs / steady, 2e3 * bursts * burst / bursting);
+            }
+        }
+    }
+
+
+    /**
+     * Hands 5M Integers from one producer thread to one consumer thread,
+     * through a {@code SpscRingQueue} of capacity 1024 and through an
+     * {@code ArrayQueue} guarded by its own lock. Both sides yield when the
+     * queue is full or empty, and the consumer checks the order.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void spsc() throws InterruptedException {
+        int items = 5000000;
+        Integer[] values = boxed(1024);
+        System.out.println("spsc: " + items + " items, Mops/s");
+        System.out.println("    queue          Mops/s");
+        for (int round = 0; round < ROUNDS; round++) {
+            SpscRingQueue<Integer> ring = new SpscRingQueue<Integer>(1024);
+            long ringNanos = timeThreads(2, thread -> {
+                if (thread == 0) {
+                    for (int i = 0; i < items; i++) {
+                        while (!ring.offer(values[i & 1023])) {
+                            Thread.yield();
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < items; i++) {
+                        Integer value;
+                        while ((value = ring.poll()) == null) {
+                            Thread.yield();
+                        }
+                        check(value == values[i & 1023]);
+                    }
+                }
+            });
+            ArrayQueue<Integer> locked = new ArrayQueue<Integer>();
+            long lockedNanos = timeThreads(2, thread -> {
+                if (thread == 0) {
+                    for (int i = 0; i < items; i++) {
+                        while (true) {
+                            synchronized (locked) {
+                                if (locked.size() < 1024) {
+                                    locked.enqueue(values[i & 1023]);
+                                    break;
+                                }
+                            }
+                            Thread.yield();
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < items; i++) {
+                        Integer value = null;
+                        while (value == null) {
+                            synchronized (locked) {
+                                if (!locked.isEmpty()) {
+                                    value = locked.dequeue();
+                                }
+                            }
+                            if (value == null) {
+                                Thread.yield();
+                            }
+                        }
+                        check(value == values[i & 1023]);
+                    }
+                }
+            });
+            System.out.printf("    %-14s %6.1f%n", "SpscRing",
+                    1e3 * items / ringNanos);
+            System.out.printf("    %-14s %6.1f%n", "synchronized",
+                    1e3 * items / lockedNanos);
+        }
+    }
+
+
+    /**
+     * Measures the total throughput of 1, 2, 4 and 8 threads that each
+     * offer and then poll 1M Integers on one shared queue, for a
+     * {@code MpmcArrayQueue} of capacity 1024 and for an
+     * {@code ArrayQueue} guarded by its own lock.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void mpmc() throws InterruptedException {
+        int perThread = 1000000;
+        Integer[] values = boxed(1024);
+        System.out.println("mpmc: " + perThread + " offer/poll pairs per "
+                + "thread, Mops/s");
+        System.out.println("    threads   Mpmc  synchronized");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int threads = 1; threads <= 8; threads *= 2) {
+                MpmcArrayQueue<Integer> mpmc =
+                        new MpmcArrayQueue<Integer>(1024);
+                long mpmcNanos = timeThreads(threads, thread -> {
+                    for (int i = 0; i < perThread; i++) {
+                        while (!mpmc.offer(values[i & 1023])) {
+                            Thread.yield();
+                        }
+                        while (mpmc.poll() == null) {
+                            Thread.yield();
+                        }
+                    }
+                });
+                check(mpmc.isEmpty());
+                ArrayQueue<Integer> locked = new ArrayQueue<Integer>();
+                long lockedNanos = timeThreads(threads, thread -> {
+                    for (int i = 0; i < perThread; i++) {
+                        synchronized (locked) {
+                            locked.enqueue(values[i & 1023]);
+                        }
+                        synchronized (locked) {
+                            locked.dequeue();
+                        }
+                    }
+                });
+                check(locked.isEmpty());
+                long pairs = (long) threads * perThread;
+                System.out.printf("    %-7d %6.1f %13.1f%n", threads,
+                        1e3 * pairs / mpmcNanos, 1e3 * pairs / lockedNanos);
+            }
+        }
+    }
+
+
+    /**
+     * Runs 2 producers and 2 consumers, each producer adding 200k Integers,
+     * on a {@code LockFreeLinkedQueue} with and without a node pool, on a
+     * {@code LinkedListQueue} guarded by its own lock, and on a
+     * {@code ConcurrentLinkedQueue}.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void msQueue() throws InterruptedException {
+        int perProducer = 200000;
+        System.out.println("msqueue: 2 producers, 2 consumers, "
+                + perProducer + " items each, Mops/s");
+        System.out.println("    queue          Mops/s");
+        for (int round = 0; round < ROUNDS; round++) {
+            LockFreeLinkedQueue<Integer> lockFree =
+                    new LockFreeLinkedQueue<Integer>();
+            double lockFreeRate = handoff(perProducer, lockFree::enqueue,
+                    lockFree::poll);
+            LockFreeLinkedQueue<Integer> pooled =
+                    new LockFreeLinkedQueue<Integer>(1024);
+            double pooledRate = handoff(perProducer, pooled::enqueue,
+                    pooled::poll);
+            LinkedListQueue<Integer> locked = new LinkedListQueue<Integer>();
+            double lockedRate = handoff(perProducer, value -> {
+                synchronized (locked) {
+                    locked.enqueue(value);
+                }
+            }, () -> {
+                synchronized (locked) {
+                    return locked.isEmpty() ? null : locked.dequeue();
+                }
+            });
+            ConcurrentLinkedQueue<Integer> concurrent =
+                    new ConcurrentLinkedQueue<Integer>();
+            double concurrentRate = handoff(perProducer, concurrent::add,
+                    concurrent::poll);
+            System.out.printf("    %-14s %6.1f%n", "LockFree", lockFreeRate);
+            System.out.printf("    %-14s %6.1f%n", "LockFree+pool",
+                    pooledRate);
+            System.out.printf("    %-14s %6.1f%n", "synchronized",
+                    lockedRate);
+            System.out.printf("    %-14s %6.1f%n", "Concurrent",
+                    concurrentRate);
+        }
+    }
+
+
+    /**
+     * Measures the total throughput of 1, 2, 4 and 8 threads that each
+     * push and then pop 1M Integers on one shared stack. It compares a
+     * {@code LockFreeLinkedStack} with its default elimination array, the
+     * same stack with no elimination slots, a {@code LinkedListStack}
+     * guarded by its own lock, and a {@code ConcurrentLinkedDeque}.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void treiber() throws InterruptedException {
+        int perThread = 1000000;
+        Integer[] values = boxed(1024);
+        System.out.println("treiber: " + perThread + " push/pop pairs per "
+                + "thread, Mops/s");
+        System.out.println("    threads  elim  no elim  synchronized  "
+                + "Concurrent");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int threads = 1; threads <= 8; threads *= 2) {
+                double[] rates = new double[4];
+                for (int kind = 0; kind < 2; kind++) {
+                    LockFreeLinkedStack<Integer> stack = kind == 0
+                            ? new LockFreeLinkedStack<Integer>()
+                            : new LockFreeLinkedStack<Integer>(0);
+                    long nanos = timeThreads(threads, thread -> {
+                        for (int i = 0; i < perThread; i++) {
+                            stack.push(values[i & 1023]);
+                            while (stack.poll() == null) {
+                                Thread.yield();
+                            }
+                        }
+                    });
+                    check(stack.isEmpty());
+                    rates[kind] = 1e3 * threads * perThread / nanos;
+                }
+                LinkedListStack<Integer> locked =
+                        new LinkedListStack<Integer>();
+                long nanos = timeThreads(threads, thread -> {
+                    for (int i = 0; i < perThread; i++) {
+                        synchronized (locked) {
+                            locked.push(values[i & 1023]);
+                        }
+                        synchronized (locked) {
+                            locked.pop();
+                        }
+                    }
+                });
+                check(locked.isEmpty());
+                rates[2] = 1e3 * threads * perThread / nanos;
+                ConcurrentLinkedDeque<Integer> concurrent =
+                        new ConcurrentLinkedDeque<Integer>();
+                nanos = timeThreads(threads, thread -> {
+                    for (int i = 0; i < perThread; i++) {
+                        concurrent.push(values[i & 1023]);
+                        while (concurrent.pollFirst() == null) {
+                            Thread.yield();
+                        }
+                    }
+                });
+                check(concurrent.isEmpty());
+                rates[3] = 1e3 * threads * perThread / nanos;
+                System.out.printf("    %-7d %5.1f %8.1f %13.1f %11.1f%n",
+                        threads, rates[0], rates[1], rates[2], rates[3]);
+            }
+        }
+    }
+
+
+    /**
+     * Merge sorts 2^20 random Integers three ways: sequentially, on a
+     * 4-worker {@code WorkStealingPool} forking the left half at each level,
+     * and with {@code Arrays.parallelSort}. Both merge sorts hand runs of
+     * 2048 or fewer to {@code Arrays.sort}.
+     */
+    private static void workStealing() {
+        int size = 1 << 20;
+        Integer[] base = new Integer[size];
+        Random random = new Random(1);
+        for (int i = 0; i < size; i++) {
+            base[i] = random.nextInt();
+        }
+        Integer[] expected = base.clone();
+        Arrays.sort(expected);
+        System.out.println("workstealing: merge sort of " + size
+                + " Integers, ms");
+        System.out.println("    sequential  pool(4)  parallelSort");
+        WorkStealingPool pool = new WorkStealingPool(4);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Integer[] sequential = base.clone();
+                long start = System.nanoTime();
+                new MergeSortTask(sequential, new Integer[size], 0, size,
+                        false).compute();
+                double sequentialMillis = millis(start);
+                check(Arrays.equals(sequential, expected));
+                Integer[] forked = base.clone();
+                start = System.nanoTime();
+                pool.invoke(new MergeSortTask(forked, new Integer[size], 0,
+                        size, true));
+                double poolMillis = millis(start);
+                check(Arrays.equals(forked, expected));
+                Integer[] parallel = base.clone();
+                start = System.nanoTime();
+                Arrays.parallelSort(parallel);
+                double parallelMillis = millis(start);
+                check(Arrays.equals(parallel, expected));
+                System.out.printf("    %10.0f %8.0f %13.0f%n",
+                        sequentialMillis, poolMillis, parallelMillis);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    /**
+     * Starts 1000 platform-thread consumers that each take 100 items, lets
+     * them all block, and then puts 100k Integers from this thread. The
+     * queue is a {@code BlockingQueueAdapter} over an {@code ArrayQueue}
+     * bounded at 256, or an {@code ArrayBlockingQueue} of the same size.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void blocking() throws InterruptedException {
+        int consumers = 1000;
+        int perConsumer = 100;
+        Integer[] values = boxed(1000);
+        System.out.println("blocking: " + consumers + " consumers, "
+                + consumers * perConsumer + " items, ms");
+        System.out.println("    queue               ms");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int kind = 0; kind < 2; kind++) {
+                BlockingQueueAdapter<Integer> adapter = kind == 0
+                        ? new BlockingQueueAdapter<Integer>(
+                                new ArrayQueue<Integer>(), 256)
+                        : null;
+                ArrayBlockingQueue<Integer> library = kind == 0
+                        ? null : new ArrayBlockingQueue<Integer>(256);
+                AtomicLong sum = new AtomicLong();
+                Thread[] running = new Thread[consumers];
+                for (int c = 0; c < consumers; c++) {
+                    running[c] = new Thread(() -> {
+                        long local = 0;
+                        try {
+                            for (int i = 0; i < perConsumer; i++) {
+                                local += adapter != null ? adapter.take()
+                                        : library.take();
+                            }
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        sum.addAndGet(local);
+                    });
+                    running[c].start();
+                }
+                // let every consumer reach take() and block
+                Thread.sleep(200);
+                long start = System.nanoTime();
+                for (int i = 0; i < consumers * perConsumer; i++) {
+                    if (adapter != null) {
+                        adapter.put(values[i % 1000]);
+                    } else {
+                        library.put(values[i % 1000]);
+                    }
+                }
+                for (Thread thread : running) {
+                    thread.join();
+                }
+                double elapsed = millis(start);
+                check(sum.get() == consumers * perConsumer / 1000 * 499500L);
+                System.out.printf("    %-16s %5.0f%n",
+                        kind == 0 ? "adapter" : "ArrayBlocking", elapsed);
+            }
+        }
+    }
+
+
+    /**
+     * Measures the cost per item of moving 256 Integers into and back out
+     * of a queue, one call per item against one {@code enqueueAll} or
+     * {@code offerAll} and one {@code drainTo}, for {@code ArrayQueue},
+     * {@code LinkedListQueue} and {@code MpmcArrayQueue}.
+     */
+    private static void batch() {
+        int batch = 256;
+        Integer[] values = boxed(batch);
+        Integer[] drained = new Integer[batch];
+        ArrayQueue<Integer> array = new ArrayQueue<Integer>();
+        LinkedListQueue<Integer> linked = new LinkedListQueue<Integer>();
+        MpmcArrayQueue<Integer> mpmc = new MpmcArrayQueue<Integer>(1024);
+        System.out.println("batch: " + batch + " items per batch, ns/item");
+        System.out.println("    queue           single  batched");
+        for (int round = 0; round < ROUNDS; round++) {
+            double arraySingle = perItem(batch, () -> {
+                for (int i = 0; i < batch; i++) {
+                    array.enqueue(values[i]);
+                }
+                for (int i = 0; i < batch; i++) {
+                    array.dequeue();
+                }
+            });
+            double arrayBatched = perItem(batch, () -> {
+                array.enqueueAll(values, 0, batch);
+                check(array.drainTo(drained, batch) == batch);
+            });
+            double linkedSingle = perItem(batch, () -> {
+                for (int i = 0; i < batch; i++) {
+                    linked.enqueue(values[i]);
+                }
+                for (int i = 0; i < batch; i++) {
+                    linked.dequeue();
+                }
+            });
+            double linkedBatched = perItem(batch, () -> {
+                linked.enqueueAll(values, 0, batch);
+                check(linked.drainTo(drained, batch) == batch);
+            });
+            double mpmcSingle = perItem(batch, () -> {
+                for (int i = 0; i < batch; i++) {
+                    mpmc.enqueue(values[i]);
+                }
+                for (int i = 0; i < batch; i++) {
+                    mpmc.dequeue();
+                }
+            });
+            double mpmcBatched = perItem(batch, () -> {
+                check(mpmc.offerAll(values, 0, batch) == batch);
+                check(mpmc.drainTo(drained, batch) == batch);
+            });
+            System.out.printf("    %-15s %6.1f %8.1f%n", "ArrayQueue",
+                    arraySingle, arrayBatched);
+            System.out.printf("    %-15s %6.1f %8.1f%n", "LinkedListQueue",
+                    linkedSingle, linkedBatched);
+            System.out.printf("    %-15s %6.1f %8.1f%n", "MpmcArrayQueue",
+                    mpmcSingle, mpmcBatched);
+        }
+    }
+
+
+    /**
+     * Measures the bytes allocated per operation pair on the primitive
+     * queues and stack against their boxed counterparts, each holding 1000
+     * elements. The long queues carry {@code System.nanoTime()} readings
+     * and the int ones carry counters, so the boxed classes really box.
+     */
+    private static void primitive() {
+        int ops = 1000000;
+        System.out.println("primitive: " + ops + " operation pairs, "
+                + "bytes/pair");
+        System.out.println("    class                bytes/pair");
+        for (int round = 0; round < ROUNDS; round++) {
+            LongArrayQueue longs = new LongArrayQueue();
+            ArrayQueue<Long> boxedLongs = new ArrayQueue<Long>();
+            IntArrayQueue ints = new IntArrayQueue();
+            ArrayQueue<Integer> boxedInts = new ArrayQueue<Integer>();
+            IntArrayStack intStack = new IntArrayStack();
+            ArrayStack<Integer> boxedStack = new ArrayStack<Integer>();
+            for (int i = 0; i < 1000; i++) {
+                longs.enqueue(i);
+                boxedLongs.enqueue((long) i);
+                ints.enqueue(i);
+                boxedInts.enqueue(i);
+                intStack.push(i);
+                boxedStack.push(i);
+            }
+            long sum = 0;
+            long bytes = allocatedBytes();
+            for (int i = 0; i < ops; i++) {
+                longs.enqueue(System.nanoTime());
+                sum += longs.dequeue();
+            }
+            long longBytes = allocatedBytes() - bytes;
+            bytes = allocatedBytes();
+            for (int i = 0; i < ops; i++) {
+                boxedLongs.enqueue(System.nanoTime());
+                sum += boxedLongs.dequeue();
+            }
+            long boxedLongBytes = allocatedBytes() - bytes;
+            bytes = allocatedBytes();
+            for (int i = 0; i < ops; i++) {
+                ints.enqueue(i);
+                sum += ints.dequeue();
+            }
+            long intBytes = allocatedBytes() - bytes;
+            bytes = allocatedBytes();
+            for (int i = 0; i < ops; i++) {
+                boxedInts.enqueue(i);
+                sum += boxedInts.dequeue();
+            }
+            long boxedIntBytes = allocatedBytes() - bytes;
+            bytes = allocatedBytes();
+            for (int i = 0; i < ops; i++) {
+                intStack.push(i);
+                sum += intStack.pop();
+            }
+            long stackBytes = allocatedBytes() - bytes;
+            bytes = allocatedBytes();
+            for (int i = 0; i < ops; i++) {
+                boxedStack.push(i);
+                sum += boxedStack.pop();
+            }
+            long boxedStackBytes = allocatedBytes() - bytes;
+            check(sum != 0 && longs.size() == 1000
+                    && boxedStack.size() == 1000);
+            String row = "    %-20s %10.1f%n";
+            System.out.printf(row, "LongArrayQueue", longBytes / (double) ops);
+            System.out.printf(row, "ArrayQueue<Long>",
+                    boxedLongBytes / (double) ops);
+            System.out.printf(row, "IntArrayQueue", intBytes / (double) ops);
+            System.out.printf(row, "ArrayQueue<Integer>",
+                    boxedIntBytes / (double) ops);
+            System.out.printf(row, "IntArrayStack",
+                    stackBytes / (double) ops);
+            System.out.printf(row, "ArrayStack<Integer>",
+                    boxedStackBytes / (double) ops);
+        }
+    }
+
+
+    /**
+     * Enqueues 200k records of 1 KB onto a {@code DiskBackedQueue} with the
+     * default 64 MB segments, forces them to disk, and dequeues them all,
+     * in a fresh temporary directory each round. The enqueue and dequeue
+     * rates are page-cache speeds; only the sync reaches the device.
+     *
+     * @throws IOException if the queue cannot be written or read
+     */
+    private static void disk() throws IOException {
+        int records = 200000;
+        byte[] record = new byte[1024];
+        Arrays.fill(record, (byte) 1);
+        DiskBackedQueue.Serializer<byte[]> raw =
+                new DiskBackedQueue.Serializer<byte[]>() {
+                    @Override
+                    public byte[] serialize(byte[] data) {
+                        return data;
+                    }
+
+                    @Override
+                    public byte[] deserialize(byte[] bytes) {
+                        return bytes;
+                    }
+                };
+        double megabytes = records * (double) record.length / (1 << 20);
+        System.out.println("disk: " + records + " records of 1 KB");
+        System.out.println("    enqueue MB/s  sync ms  dequeue MB/s");
+        for (int round = 0; round < ROUNDS; round++) {
+            Path directory = Files.createTempDirectory("queue");
+            try {
+                DiskBackedQueue<byte[]> queue =
+                        new DiskBackedQueue<byte[]>(directory, raw);
+                long start = System.nanoTime();
+                for (int i = 0; i < records; i++) {
+                    queue.enqueue(record);
+                }
+                double enqueue = millis(start);
+                start = System.nanoTime();
+                queue.sync();
+                double sync = millis(start);
+                start = System.nanoTime();
+                for (int i = 0; i < records; i++) {
+                    check(queue.dequeue().length == record.length);
+                }
+                double dequeue = millis(start);
+                check(queue.isEmpty());
+                queue.close();
+                System.out.printf("    %12.0f %8.0f %13.0f%n",
+                        megabytes * 1e3 / enqueue, sync,
+                        megabytes * 1e3 / dequeue);
+            } finally {
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.delete(file);
+                    }
+                }
+                Files.delete(directory);
+            }
+        }
+    }
+
+
+    /**
+     * Runs {@code cycle} until about 10M items have passed through and
+     * returns the time per item.
+     *
+     * @param items the items one run of {@code cycle} moves
+     * @param cycle moves {@code items} items into a queue and out again
+     * @return the elapsed time per item in ns
+     */
+    private static double perItem(int items, Runnable cycle) {
+        int cycles = 10000000 / items;
+        long start = System.nanoTime();
+        for (int i = 0; i < cycles; i++) {
+            cycle.run();
+        }
+        return (System.nanoTime() - start) / (double) cycles / items;
+    }
+
+
+    /**
+     * Runs 2 producer and 2 consumer threads through one queue and checks
+     * that every item came out exactly once.
+     *
+     * @param perProducer the items each producer adds
+     * @param put adds an item
+     * @param take removes an item, or returns {@code null} if empty
+     * @return the items moved per microsecond
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static double handoff(int perProducer, Consumer<Integer> put,
+        Supplier<Integer> take) throws InterruptedException {
+        int total = 2 * perProducer;
+        AtomicInteger taken = new AtomicInteger();
+        AtomicLong sum = new AtomicLong();
+        long nanos = timeThreads(4, thread -> {
+            if (thread < 2) {
+                for (int i = 0; i < perProducer; i++) {
+                    put.accept(i);
+                }
+            } else {
+                long local = 0;
+                while (taken.get() < total) {
+                    Integer value = take.get();
+                    if (value == null) {
+                        Thread.yield();
+                    } else {
+                        taken.incrementAndGet();
+                        local += value;
+                    }
+                }
+                sum.addAndGet(local);
+            }
+        });
+        check(sum.get() == (long) perProducer * (perProducer - 1));
+        return 1e3 * total / nanos;
+    }
+
+
+    /**
+     * Returns {@code 0} to {@code size - 1}, boxed.
+     *
+     * @param size the number of values
+     * @return the values
+     */
+    private static Integer[] boxed(int size) {
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+
+    /**
+     * Runs {@code body} on {@code threads} new threads at once and returns
+     * how long they took together.
+     *
+     * @param threads the number of threads
+     * @param body the work for each thread, given the thread's number
+     * @return the elapsed time in ns
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static long timeThreads(int threads, ThreadBody body)
+        throws InterruptedException {
+        Thread[] running = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            running[t] = new Thread(() -> body.run(thread));
+        }
+        long start = System.nanoTime();
+        for (Thread thread : running) {
+            thread.start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+
+    /**
+     * Returns the milliseconds since {@code start}.
+     *
+     * @param start a {@code System.nanoTime()} reading
+     * @return the elapsed time in ms
+     */
+    private static double millis(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+
+    /**
+     * Returns the bytes the current thread has allocated so far. Needs a
+     * HotSpot JVM.
+     *
+     * @return the allocated bytes
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+
+    /**
+     * Fails the benchmark if a result is wrong, which also keeps the JIT
+     * from dropping the work that produced it.
+     *
+     * @param ok whether the result is right
+     * @throws IllegalStateException if it is not
+     */
+    private static void check(boolean ok) {
+        if (!ok) {
+            throw new IllegalStateException("Benchmark result is wrong.");
+        }
+    }
+
+
+    /**
+     * The work one benchmark thread does.
+     */
+    private interface ThreadBody {
+
+        /**
+         * Does the work.
+         *
+         * @param thread the thread's number, from 0
+         */
+        void run(int thread);
+    }
+
+
+    /**
+     * Merge sorts one range of an array, forking the left half onto the
+     * pool or running both halves in place.
+     */
+    private static final class MergeSortTask
+        extends WorkStealingPool.Task<Void> {
+        private final Integer[] array;
+        private final Integer[] scratch;
+        private final int from;
+        private final int to;
+        private final boolean fork;
+
+        /**
+         * Creates a task sorting {@code array[from, to)}.
+         *
+         * @param array the array to sort
+         * @param scratch merge space as long as {@code array}
+         * @param from the first index, inclusive
+         * @param to the last index, exclusive
+         * @param fork whether to fork the left half
+         */
+        MergeSortTask(Integer[] array, Integer[] scratch, int from, int to,
+            boolean fork) {
+            this.array = array;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+            this.fork = fork;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from <= 2048) {
+                Arrays.sort(array, from, to);
+                return null;
+            }
+            int middle = (from + to) >>> 1;
+            MergeSortTask left =
+                    new MergeSortTask(array, scratch, from, middle, fork);
+            MergeSortTask right =
+                    new MergeSortTask(array, scratch, middle, to, fork);
+            if (fork) {
+                left.fork();
+                right.compute();
+                left.join();
+            } else {
+                left.compute();
+                right.compute();
+            }
+            System.arraycopy(array, from, scratch, from, to - from);
+            int i = from;
+            int j = middle;
+            for (int k = from; k < to; k++) {
+                if (j == to || i < middle && scratch[i] <= scratch[j]) {
+                    array[k] = scratch[i++];
+                } else {
+                    array[k] = scratch[j++];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,7 +1,18 @@
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -722,4 +733,826 @@ public class StacksQueuesStudentTests {
         }
         System.out.println("Finished Exceptions testing!\n");
     }
-}
\ No newline at end of file
+
+    @Test(timeout = TIMEOUT)
+    public void testDoublyLinkedListNodePool() {
+        System.out.println("Starting DoublyLinkedList node pool testing ...");
+        doublyLinkedList = new DoublyLinkedList<>(2);
+        doublyLinkedList.add(1);
+        doublyLinkedList.add(2);
+        doublyLinkedList.add(3);
+        assertEquals(0, doublyLinkedList.getPoolHits());
+        assertEquals(3, doublyLinkedList.getPoolMisses());
+
+        LinkedListNode<Integer> front = doublyLinkedList.getHead();
+        assertEquals((Integer) 1, doublyLinkedList.removeFromFront());
+        assertNull(front.getData());
+        assertEquals((Integer) 3, doublyLinkedList.remove());
+        assertEquals((Integer) 2, doublyLinkedList.remove());
+
+        doublyLinkedList.add(4);
+        doublyLinkedList.addToFront(5);
+        doublyLinkedList.add(6);
+        assertEquals(2, doublyLinkedList.getPoolHits());
+        assertEquals(4, doublyLinkedList.getPoolMisses());
+
+        // current order: 5, 4, 6
+        LinkedListNode<Integer> current = doublyLinkedList.getHead();
+        assertNull(current.getPrev());
+        assertEquals((Integer) 5, current.getData());
+        current = current.getNext();
+        assertEquals((Integer) 4, current.getData());
+        current = current.getNext();
+        assertEquals((Integer) 6, current.getData());
+        assertNull(current.getNext());
+        assertSame(current, doublyLinkedList.getTail());
+        System.out.println("Finished DoublyLinkedList node pool testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDoublyLinkedListIteration() {
+        System.out.println("Starting DoublyLinkedList iteration testing ...");
+        doublyLinkedList = new DoublyLinkedList<>();
+        for (int i = 0; i < 5000; i++) {
+            doublyLinkedList.add(i);
+        }
+        int expected = 0;
+        for (Integer data : doublyLinkedList) {
+            assertEquals((Integer) expected, data);
+            expected++;
+        }
+        assertEquals(5000, expected);
+        assertEquals(12497500L, doublyLinkedList.parallelStream()
+                .mapToLong(Integer::longValue).sum());
+
+        try {
+            for (Integer data : doublyLinkedList) {
+                doublyLinkedList.removeFromFront();
+            }
+            assertTrue(false);
+        } catch (ConcurrentModificationException e) {
+            assertTrue(true);
+        }
+        System.out.println("Finished DoublyLinkedList iteration testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testArrayQueueResizeKeepsOrder() {
+        System.out.println("Starting ArrayQueue wrapped resize testing ...");
+        queue = new ArrayQueue<>();
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 4; i++) {
+            queue.dequeue();
+        }
+        for (int i = 6; i < 15; i++) {
+            queue.enqueue(i);
+        }
+        // 4..13 filled the wrapped array, 14 forced the resize
+        Object[] expected = new Object[QueueInterface.INITIAL_CAPACITY * 2];
+        for (int i = 0; i < 11; i++) {
+            expected[i] = i + 4;
+        }
+        assertArrayEquals(expected,
+                ((ArrayQueue<Integer>) queue).getBackingArray());
+        System.out.println("Finished ArrayQueue wrapped resize testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRingBufferQueue() {
+        System.out.println("Starting RingBufferQueue testing ...");
+        RingBufferQueue<Integer> ring = new RingBufferQueue<>(3);
+        assertEquals(4, ring.getBackingArray().length);
+        for (int i = 0; i < 3; i++) {
+            ring.enqueue(i);
+        }
+        assertEquals((Integer) 0, ring.dequeue());
+        assertEquals((Integer) 1, ring.dequeue());
+        for (int i = 3; i < 8; i++) {
+            ring.enqueue(i);
+        }
+        assertEquals(8, ring.getBackingArray().length);
+        assertEquals(6, ring.size());
+
+        for (int i = 2; i < 7; i++) {
+            assertEquals((Integer) i, ring.dequeue());
+        }
+        // shrinks once only a quarter of the array is in use
+        assertEquals(4, ring.getBackingArray().length);
+        assertEquals((Integer) 7, ring.dequeue());
+        assertTrue(ring.isEmpty());
+        assertEquals(4, ring.getBackingArray().length);
+        System.out.println("Finished RingBufferQueue testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSpscRingQueue() throws InterruptedException {
+        System.out.println("Starting SpscRingQueue testing ...");
+        final SpscRingQueue<Integer> spsc = new SpscRingQueue<>(5);
+        assertEquals(8, spsc.capacity());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(spsc.offer(i));
+        }
+        assertTrue(!spsc.offer(8));
+        assertEquals(8, spsc.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals((Integer) i, spsc.dequeue());
+        }
+        assertNull(spsc.poll());
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                while (!spsc.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        for (int i = 0; i < 10000; i++) {
+            Integer data = spsc.poll();
+            while (data == null) {
+                Thread.yield();
+                data = spsc.poll();
+            }
+            assertEquals((Integer) i, data);
+        }
+        producer.join();
+        assertTrue(spsc.isEmpty());
+        System.out.println("Finished SpscRingQueue testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMpmcArrayQueue() throws InterruptedException {
+        System.out.println("Starting MpmcArrayQueue testing ...");
+        final MpmcArrayQueue<Integer> mpmc = new MpmcArrayQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            mpmc.enqueue(i);
+        }
+        assertTrue(!mpmc.offer(4));
+        assertEquals((Integer) 0, mpmc.dequeue());
+        assertTrue(mpmc.offer(4));
+        for (int i = 1; i < 5; i++) {
+            assertEquals((Integer) i, mpmc.poll());
+        }
+        assertNull(mpmc.poll());
+
+        final java.util.concurrent.atomic.AtomicLong total =
+                new java.util.concurrent.atomic.AtomicLong();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean producer = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 2000; i++) {
+                    if (producer) {
+                        while (!mpmc.offer(i)) {
+                            Thread.yield();
+                        }
+                    } else {
+                        Integer data = mpmc.poll();
+                        while (data == null) {
+                            Thread.yield();
+                            data = mpmc.poll();
+                        }
+                        total.addAndGet(data);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2 * 2001000L, total.get());
+        assertTrue(mpmc.isEmpty());
+        System.out.println("Finished MpmcArrayQueue testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLockFreeLinkedQueue() throws InterruptedException {
+        System.out.println("Starting LockFreeLinkedQueue testing ...");
+        final LockFreeLinkedQueue<Integer> queue =
+                new LockFreeLinkedQueue<>(16);
+        assertNull(queue.poll());
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(5, queue.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals((Integer) i, queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+        try {
+            queue.dequeue();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertNotNull(e.getMessage());
+        }
+
+        final java.util.concurrent.atomic.AtomicLong total =
+                new java.util.concurrent.atomic.AtomicLong();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean producer = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 2000; i++) {
+                    if (producer) {
+                        queue.enqueue(i);
+                    } else {
+                        Integer data = queue.poll();
+                        while (data == null) {
+                            Thread.yield();
+                            data = queue.poll();
+                        }
+                        total.addAndGet(data);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2 * 2001000L, total.get());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        System.out.println("Finished LockFreeLinkedQueue testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLockFreeLinkedStack() throws InterruptedException {
+        System.out.println("Starting LockFreeLinkedStack testing ...");
+        final LockFreeLinkedStack<Integer> stack = new LockFreeLinkedStack<>(2);
+        assertNull(stack.poll());
+        for (int i = 0; i < 5; i++) {
+            stack.push(i);
+        }
+        assertEquals(5, stack.size());
+        for (int i = 4; i >= 0; i--) {
+            assertEquals((Integer) i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+        try {
+            stack.pop();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertNotNull(e.getMessage());
+        }
+
+        final java.util.concurrent.atomic.AtomicLong total =
+                new java.util.concurrent.atomic.AtomicLong();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean pusher = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 2000; i++) {
+                    if (pusher) {
+                        stack.push(i);
+                    } else {
+                        Integer data = stack.poll();
+                        while (data == null) {
+                            Thread.yield();
+                            data = stack.poll();
+                        }
+                        total.addAndGet(data);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2 * 2001000L, total.get());
+        assertTrue(stack.isEmpty());
+        assertEquals(0, stack.size());
+
+        final LockFreeLinkedStack<Integer> plain = new LockFreeLinkedStack<>(0);
+        plain.push(1);
+        plain.push(2);
+        assertEquals((Integer) 2, plain.pop());
+        assertEquals((Integer) 1, plain.pop());
+        assertNull(plain.poll());
+        try {
+            new LockFreeLinkedStack<Integer>(-1);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+        System.out.println("Finished LockFreeLinkedStack testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWorkStealingDeque() {
+        System.out.println("Starting WorkStealingDeque testing ...");
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        assertNull(deque.pop());
+        assertNull(deque.steal());
+        for (int i = 0; i < 40; i++) {
+            deque.push(i);
+        }
+        assertEquals(40, deque.size());
+        assertEquals((Integer) 39, deque.pop());
+        assertEquals((Integer) 0, deque.steal());
+        assertEquals((Integer) 1, deque.steal());
+        assertEquals((Integer) 38, deque.pop());
+        assertEquals(36, deque.size());
+        for (int i = 37; i >= 2; i--) {
+            assertEquals((Integer) i, deque.pop());
+        }
+        assertTrue(deque.isEmpty());
+        assertNull(deque.pop());
+        System.out.println("Finished WorkStealingDeque testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWorkStealingPool() {
+        System.out.println("Starting WorkStealingPool testing ...");
+        WorkStealingPool pool = new WorkStealingPool(4);
+        try {
+            assertEquals((Long) 50005000L, pool.invoke(new RangeSum(1, 10001)));
+            try {
+                new RangeSum(0, 1).join();
+                assertTrue(false);
+            } catch (IllegalStateException e) {
+                assertNotNull(e.getMessage());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Finished WorkStealingPool testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWorkStealingPoolShutdown() throws InterruptedException {
+        System.out.println("Starting WorkStealingPool shutdown testing ...");
+        final WorkStealingPool pool = new WorkStealingPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<Object> first = new AtomicReference<>();
+        final AtomicReference<Object> second = new AtomicReference<>();
+        // holds the only worker so that the next task stays queued
+        final WorkStealingPool.Task<Integer> blocker =
+                new WorkStealingPool.Task<Integer>() {
+                    @Override
+                    protected Integer compute() {
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return 1;
+                    }
+                };
+        Thread busy = new Thread(() -> first.set(pool.invoke(blocker)));
+        busy.start();
+        started.await();
+        Thread waiting = new Thread(() -> {
+            try {
+                second.set(pool.invoke(new RangeSum(0, 10)));
+            } catch (IllegalStateException e) {
+                second.set(e);
+            }
+        });
+        waiting.start();
+        while (waiting.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        pool.shutdown();
+        waiting.join();
+        assertTrue(second.get() instanceof IllegalStateException);
+        release.countDown();
+        busy.join();
+        assertEquals((Integer) 1, first.get());
+        try {
+            pool.invoke(new RangeSum(0, 10));
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+            assertNotNull(e.getMessage());
+        }
+        System.out.println("Finished WorkStealingPool shutdown testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWorkStealingPoolJoiners() throws InterruptedException {
+        System.out.println("Starting WorkStealingPool joiner testing ...");
+        final WorkStealingPool pool = new WorkStealingPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final WorkStealingPool.Task<Integer> task =
+                new WorkStealingPool.Task<Integer>() {
+                    @Override
+                    protected Integer compute() {
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return 7;
+                    }
+                };
+        final AtomicReference<Integer> invoked = new AtomicReference<>();
+        final AtomicReference<Integer> joined = new AtomicReference<>();
+        try {
+            Thread invoker = new Thread(() -> invoked.set(pool.invoke(task)));
+            invoker.start();
+            started.await();
+            // a second outside thread joins the same task
+            Thread joiner = new Thread(() -> joined.set(task.join()));
+            joiner.start();
+            while (invoker.getState() != Thread.State.WAITING
+                    || joiner.getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+            release.countDown();
+            invoker.join();
+            joiner.join();
+            assertEquals((Integer) 7, invoked.get());
+            assertEquals((Integer) 7, joined.get());
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Finished WorkStealingPool joiner testing!\n");
+    }
+
+    /**
+     * Sums the integers in [from, to) by forking halves.
+     */
+    private static class RangeSum extends WorkStealingPool.Task<Long> {
+        private final long from;
+        private final long to;
+
+        RangeSum(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= 16) {
+                long sum = 0;
+                for (long i = from; i < to; i++) {
+                    sum += i;
+                }
+                return sum;
+            }
+            long mid = (from + to) >>> 1;
+            RangeSum left = new RangeSum(from, mid);
+            left.fork();
+            return new RangeSum(mid, to).compute() + left.join();
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBlockingAdapters() throws InterruptedException {
+        System.out.println("Starting blocking adapter testing ...");
+        final BlockingQueueAdapter<Integer> queue =
+                new BlockingQueueAdapter<>(new ArrayQueue<Integer>(), 2);
+        assertNull(queue.poll(10, java.util.concurrent.TimeUnit.MILLISECONDS));
+        queue.put(1);
+        queue.enqueue(2);
+        assertTrue(!queue.offer(3));
+        assertTrue(!queue.offer(3, 10,
+                java.util.concurrent.TimeUnit.MILLISECONDS));
+        try {
+            queue.enqueue(3);
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+            assertNotNull(e.getMessage());
+        }
+        assertEquals((Integer) 1, queue.take());
+        assertEquals((Integer) 2, queue.dequeue());
+
+        final java.util.concurrent.atomic.AtomicLong total =
+                new java.util.concurrent.atomic.AtomicLong();
+        Thread[] consumers = new Thread[8];
+        for (int t = 0; t < consumers.length; t++) {
+            consumers[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 100; i++) {
+                        total.addAndGet(queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumers[t].start();
+        }
+        for (int i = 1; i <= 800; i++) {
+            queue.put(i);
+        }
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        assertEquals(320400L, total.get());
+        assertTrue(queue.isEmpty());
+
+        BlockingStackAdapter<Integer> stack =
+                new BlockingStackAdapter<>(new LinkedListStack<Integer>(), 2);
+        stack.put(1);
+        stack.push(2);
+        assertTrue(!stack.offer(3, 10,
+                java.util.concurrent.TimeUnit.MILLISECONDS));
+        assertEquals((Integer) 2, stack.take());
+        assertEquals((Integer) 1, stack.pop());
+        assertNull(stack.poll());
+        try {
+            stack.pop();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertNotNull(e.getMessage());
+        }
+        System.out.println("Finished blocking adapter testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBatchEnqueueAndDrain() {
+        System.out.println("Starting batch enqueue/drain testing ...");
+        Integer[] src = {null, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+        Integer[] dst = new Integer[5];
+
+        // wrap the ArrayQueue first so the batch straddles the end
+        ArrayQueue<Integer> arrayQueue = new ArrayQueue<>();
+        for (int i = 0; i < 8; i++) {
+            arrayQueue.enqueue(0);
+            arrayQueue.dequeue();
+        }
+        arrayQueue.enqueueAll(src, 1, 5);
+        assertEquals(5, arrayQueue.size());
+        assertEquals((Integer) 1, arrayQueue.getBackingArray()[8]);
+        assertEquals((Integer) 3, arrayQueue.getBackingArray()[0]);
+        assertEquals(4, arrayQueue.drainTo(dst, 4));
+        assertArrayEquals(new Integer[] {1, 2, 3, 4, null}, dst);
+        arrayQueue.enqueueAll(src, 6, 7);
+        assertEquals(10, arrayQueue.getBackingArray().length);
+        arrayQueue.enqueueAll(src, 1, 12);
+        assertEquals(20, arrayQueue.getBackingArray().length);
+        assertEquals(5, arrayQueue.drainTo(dst, 10));
+        assertArrayEquals(new Integer[] {5, 6, 7, 8, 9}, dst);
+        assertEquals((Integer) 10, arrayQueue.dequeue());
+        try {
+            arrayQueue.enqueueAll(src, 0, 3);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+            assertEquals(14, arrayQueue.size());
+        }
+
+        LinkedListQueue<Integer> linkedQueue = new LinkedListQueue<>();
+        linkedQueue.enqueue(0);
+        linkedQueue.enqueueAll(src, 1, 3);
+        assertEquals(2, linkedQueue.drainTo(dst, 2));
+        assertEquals((Integer) 0, dst[0]);
+        assertEquals((Integer) 1, dst[1]);
+        assertEquals(2, linkedQueue.drainTo(dst, 5));
+        assertTrue(linkedQueue.isEmpty());
+        assertNull(linkedQueue.getBackingList().getTail());
+
+        MpmcArrayQueue<Integer> mpmc = new MpmcArrayQueue<>(4);
+        assertEquals(4, mpmc.offerAll(src, 1, 6));
+        assertEquals(3, mpmc.drainTo(dst, 3));
+        assertEquals(3, mpmc.offerAll(src, 5, 3));
+        assertEquals(4, mpmc.drainTo(dst, 5));
+        assertArrayEquals(new Integer[] {4, 5, 6, 7, 9}, dst);
+
+        SpscRingQueue<Integer> spsc = new SpscRingQueue<>(4);
+        assertEquals(4, spsc.offerAll(src, 1, 6));
+        assertEquals(3, spsc.drainTo(dst, 3));
+        assertEquals(3, spsc.offerAll(src, 5, 3));
+        assertEquals(4, spsc.drainTo(dst, 5));
+        assertArrayEquals(new Integer[] {4, 5, 6, 7, 9}, dst);
+
+        LockFreeLinkedQueue<Integer> lockFree = new LockFreeLinkedQueue<>(4);
+        lockFree.enqueueAll(src, 1, 6);
+        assertEquals(6, lockFree.size());
+        assertEquals(5, lockFree.drainTo(dst, 5));
+        assertArrayEquals(new Integer[] {1, 2, 3, 4, 5}, dst);
+        assertEquals((Integer) 6, lockFree.dequeue());
+        assertEquals(0, lockFree.drainTo(dst, 5));
+        System.out.println("Finished batch enqueue/drain testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPrimitiveQueuesAndStack() {
+        System.out.println("Starting primitive queue/stack testing ...");
+        LongArrayQueue longQueue = new LongArrayQueue();
+        IntArrayQueue intQueue = new IntArrayQueue();
+        for (int i = 0; i < 7; i++) {
+            longQueue.enqueue(i);
+            longQueue.dequeue();
+            intQueue.enqueue(i);
+            intQueue.dequeue();
+        }
+        for (int i = 1; i <= 11; i++) {
+            longQueue.enqueue(i * 10000000000L);
+            intQueue.enqueue(i);
+        }
+        // full at 10 with front at 7, so growth unwraps to index 0
+        assertEquals(20, longQueue.getBackingArray().length);
+        assertEquals(10000000000L, longQueue.getBackingArray()[0]);
+        assertEquals(11, intQueue.getBackingArray()[10]);
+        assertEquals(11, intQueue.size());
+        for (int i = 1; i <= 11; i++) {
+            assertEquals(i * 10000000000L, longQueue.dequeue());
+            assertEquals(i, intQueue.dequeue());
+        }
+        assertTrue(longQueue.isEmpty());
+        assertEquals(0, intQueue.getBackingArray()[10]);
+        try {
+            intQueue.dequeue();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertNotNull(e.getMessage());
+        }
+
+        IntArrayStack stack = new IntArrayStack();
+        for (int i = 0; i < 11; i++) {
+            stack.push(i);
+        }
+        assertEquals(20, stack.getBackingArray().length);
+        for (int i = 10; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+        assertEquals(0, stack.getBackingArray()[0]);
+        try {
+            stack.pop();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertNotNull(e.getMessage());
+        }
+        System.out.println("Finished primitive queue/stack testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDiskBackedQueue() throws IOException {
+        System.out.println("Starting DiskBackedQueue testing ...");
+        Path directory = Files.createTempDirectory("queue");
+        try {
+            // 64 byte segments hold a few records each, forcing rollovers
+            DiskBackedQueue<String> queue =
+                    new DiskBackedQueue<>(directory, UTF_8_STRINGS, 64);
+            for (int i = 0; i < 20; i++) {
+                queue.enqueue("record " + i);
+            }
+            queue.enqueue("");
+            assertEquals("record 0", queue.dequeue());
+            assertEquals("record 1", queue.dequeue());
+            queue.close();
+            try {
+                queue.dequeue();
+                assertTrue(false);
+            } catch (IllegalStateException e) {
+                assertNotNull(e.getMessage());
+            }
+
+            queue = new DiskBackedQueue<>(directory, UTF_8_STRINGS, 64);
+            assertEquals(19, queue.size());
+            for (int i = 2; i < 20; i++) {
+                assertEquals("record " + i, queue.dequeue());
+            }
+            assertEquals("", queue.dequeue());
+            assertTrue(queue.isEmpty());
+            try {
+                queue.dequeue();
+                assertTrue(false);
+            } catch (NoSuchElementException e) {
+                assertNotNull(e.getMessage());
+            }
+            try {
+                queue.enqueue("a record that is far too long to fit in one"
+                        + " of these 64 byte segment files");
+                assertTrue(false);
+            } catch (IllegalArgumentException e) {
+                assertNotNull(e.getMessage());
+            }
+            queue.close();
+
+            // consumed segments are gone, leaving the offset and the last one
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+        System.out.println("Finished DiskBackedQueue testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDiskBackedQueueTornRecord() throws IOException {
+        System.out.println("Starting DiskBackedQueue torn record testing ...");
+        Path directory = Files.createTempDirectory("queue");
+        try {
+            DiskBackedQueue<String> queue =
+                    new DiskBackedQueue<>(directory, UTF_8_STRINGS, 256);
+            queue.enqueue("ab");
+            queue.enqueue("cd");
+            queue.close();
+
+            // a torn record: payload bytes after the end, header still 0,
+            // with a valid looking header for a 1 byte record inside them
+            ByteBuffer junk = ByteBuffer.allocate(6);
+            junk.put((byte) 'q').putInt(2).put((byte) 'z').flip();
+            try (FileChannel segment = FileChannel.open(
+                    directory.resolve("segment-0000000000.dat"),
+                    StandardOpenOption.WRITE)) {
+                segment.write(junk, 16);
+            }
+
+            queue = new DiskBackedQueue<>(directory, UTF_8_STRINGS, 256);
+            assertEquals(2, queue.size());
+            // lands on the torn record's header, ending inside its payload
+            queue.enqueue("x");
+            queue.close();
+
+            queue = new DiskBackedQueue<>(directory, UTF_8_STRINGS, 256);
+            assertEquals(3, queue.size());
+            assertEquals("ab", queue.dequeue());
+            assertEquals("cd", queue.dequeue());
+            assertEquals("x", queue.dequeue());
+            assertTrue(queue.isEmpty());
+            queue.close();
+        } finally {
+            deleteDirectory(directory);
+        }
+        System.out.println("Finished DiskBackedQueue torn record testing!\n");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDiskBackedQueueBadRecord() throws IOException {
+        System.out.println("Starting DiskBackedQueue bad record testing ...");
+        Path directory = Files.createTempDirectory("queue");
+        DiskBackedQueue.Serializer<String> picky =
+                new DiskBackedQueue.Serializer<String>() {
+                    @Override
+                    public byte[] serialize(String data) {
+                        return UTF_8_STRINGS.serialize(data);
+                    }
+
+                    @Override
+                    public String deserialize(byte[] bytes) {
+                        String data = UTF_8_STRINGS.deserialize(bytes);
+                        if (data.equals("bad")) {
+                            throw new IllegalStateException("Cannot decode.");
+                        }
+                        return data;
+                    }
+                };
+        try {
+            DiskBackedQueue<String> queue =
+                    new DiskBackedQueue<>(directory, picky, 256);
+            queue.enqueue("bad");
+            queue.enqueue("good");
+            try {
+                queue.dequeue();
+                assertTrue(false);
+            } catch (IllegalStateException e) {
+                assertNotNull(e.getMessage());
+            }
+            // the record that failed to decode is still at the front
+            assertEquals(2, queue.size());
+            queue.close();
+
+            queue = new DiskBackedQueue<>(directory, UTF_8_STRINGS, 256);
+            assertEquals(2, queue.size());
+            assertEquals("bad", queue.dequeue());
+            assertEquals("good", queue.dequeue());
+            queue.close();
+        } finally {
+            deleteDirectory(directory);
+        }
+        System.out.println("Finished DiskBackedQueue bad record testing!\n");
+    }
+
+    /**
+     * Stores strings as their UTF-8 bytes.
+     */
+    private static final DiskBackedQueue.Serializer<String> UTF_8_STRINGS =
+            new DiskBackedQueue.Serializer<String>() {
+                @Override
+                public byte[] serialize(String data) {
+                    return data.getBytes(StandardCharsets.UTF_8);
+                }
+
+                @Override
+                public String deserialize(byte[] bytes) {
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            };
+
+    /**
+     * Deletes {@code directory} and the files in it.
+     *
+     * @param directory a directory holding only files
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
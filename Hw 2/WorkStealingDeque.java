@@ -0,0 +1,147 @@
+/**
+ * A Chase-Lev work-stealing deque. One owner thread pushes and pops at the
+ * bottom, LIFO, and any number of thief threads steal from the top, FIFO.
+ *
+ * The owner only races a thief when one element is left. Both sides then
+ * CAS top and one of them wins. The circular array grows by doubling when
+ * it fills, copying the live range into the new array at the same
+ * positions. It never shrinks. Stolen slots are not cleared, because the
+ * owner may be writing the same array; they are overwritten on the next
+ * lap.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class WorkStealingDeque<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Object[] array = new Object[INITIAL_CAPACITY];
+    // Claimed by thieves, and by the owner for the last element.
+    private final PaddedSequence top = new PaddedSequence(0);
+    // Written by the owner only.
+    private final PaddedSequence bottom = new PaddedSequence(0);
+
+    /**
+     * Pushes {@code data} onto the bottom of the deque. Owner thread only.
+     *
+     * @param data the data to push
+     * @throws IllegalArgumentException if {@code data} is null
+     */
+    public void push(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Can't push null data.");
+        }
+        long b = bottom.value;
+        long t = top.value;
+        Object[] a = array;
+        if (b - t >= a.length - 1) {
+            a = grow(a, t, b);
+        }
+        a[(int) b & (a.length - 1)] = data;
+        bottom.value = b + 1;
+    }
+
+
+    /**
+     * Pops the element at the bottom of the deque, the one most recently
+     * pushed. Owner thread only.
+     *
+     * @return the data popped, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        long b = bottom.value - 1;
+        Object[] a = array;
+        // the volatile write and read order this against a thief's steal
+        bottom.value = b;
+        long t = top.value;
+        if (b < t) {
+            bottom.value = t;
+            return null;
+        }
+        int slot = (int) b & (a.length - 1);
+        T data = (T) a[slot];
+        if (b > t) {
+            a[slot] = null;
+            return data;
+        }
+        // last element, race the thieves for it
+        if (!top.compareAndSet(t, t + 1)) {
+            data = null;
+        } else {
+            a[slot] = null;
+        }
+        bottom.value = t + 1;
+        return data;
+    }
+
+
+    /**
+     * Steals the element at the top of the deque, the oldest one. Safe to
+     * call from any thread.
+     *
+     * @return the data stolen, or null if the deque was empty or another
+     * thread claimed the element first
+     */
+    @SuppressWarnings("unchecked")
+    public T steal() {
+        long t = top.value;
+        long b = bottom.value;
+        if (t >= b) {
+            return null;
+        }
+        Object[] a = array;
+        T data = (T) a[(int) t & (a.length - 1)];
+        if (!top.compareAndSet(t, t + 1)) {
+            return null;
+        }
+        return data;
+    }
+
+
+    /**
+     * Returns the number of elements in the deque. Only a snapshot while
+     * other threads are stealing.
+     *
+     * @return number of items in the deque
+     */
+    public int size() {
+        long b = bottom.value;
+        long t = top.value;
+        return (int) Math.max(b - t, 0);
+    }
+
+
+    /**
+     * Return true if empty, false otherwise.
+     *
+     * @return boolean representing whether the deque is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    /**
+     * Doubles the array, copying positions {@code t} up to {@code b} to the
+     * same positions modulo the new length. Owner thread only.
+     *
+     * @param a the current array
+     * @param t the top position
+     * @param b the bottom position
+     * @return the new array, already published
+     */
+    private Object[] grow(Object[] a, long t, long b) {
+        if (a.length == 1 << 30) {
+            throw new IllegalStateException("Deque cannot grow past 2^30"
+                    + " elements.");
+        }
+        Object[] grown = new Object[a.length << 1];
+        for (long i = t; i < b; i++) {
+            grown[(int) i & (grown.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+        array = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,372 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A small fork/join style worker pool built on {@code WorkStealingDeque}.
+ *
+ * Each worker owns a deque. A task forked on a worker is pushed onto that
+ * worker's deque, and the worker pops its own newest task first, which
+ * keeps recursive work on one core while the problem is still big. An
+ * idle worker takes tasks submitted from outside the pool, then steals
+ * the oldest, largest task from a random other worker. A worker joining a
+ * task that is not done yet runs other tasks in the meantime instead of
+ * blocking.
+ *
+ * @author Henry Leung
+ * @version 1.0
+ */
+public class WorkStealingPool {
+
+    // Failed scans in a row before an idle worker starts parking.
+    private static final int IDLE_SPINS = 64;
+    private static final long IDLE_PARK_NANOS = 50_000L;
+
+    private final Worker[] workers;
+    private final LockFreeLinkedQueue<Task<?>> submissions =
+            new LockFreeLinkedQueue<Task<?>>();
+    private volatile boolean shutdown;
+
+    /**
+     * Starts a pool with one worker per available processor.
+     */
+    public WorkStealingPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Starts a pool with {@code parallelism} worker threads.
+     *
+     * @param parallelism the number of workers
+     * @throws IllegalArgumentException if {@code parallelism} is not
+     * positive
+     */
+    public WorkStealingPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be"
+                    + " positive.");
+        }
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(this, i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+
+    /**
+     * Runs {@code task} in the pool and waits for its result. From a worker
+     * of this pool this is the same as {@code task.fork().join()}.
+     *
+     * @param task the task to run
+     * @param <V> the result type
+     * @return the result of the task
+     * @throws IllegalArgumentException if {@code task} is null
+     * @throws IllegalStateException if the pool has been shut down, or is
+     * shut down before the task runs
+     */
+    public <V> V invoke(Task<V> task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Cannot invoke a null task.");
+        }
+        if (shutdown) {
+            throw new IllegalStateException("Pool is shut down.");
+        }
+        if (currentWorker() != null) {
+            return task.fork().join();
+        }
+        task.pool = this;
+        submissions.enqueue(task);
+        if (shutdown) {
+            // shutdown may have drained the submissions before this enqueue
+            cancelPending();
+        }
+        return task.join();
+    }
+
+
+    /**
+     * Stops the workers once they finish the task they are running. Tasks
+     * still queued are completed with an {@code IllegalStateException},
+     * which wakes anyone joining them.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        cancelPending();
+    }
+
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return workers.length;
+    }
+
+
+    /**
+     * Returns the worker of this pool running the current thread, if any.
+     *
+     * @return the current worker, or null
+     */
+    private Worker currentWorker() {
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).pool == this) {
+            return (Worker) current;
+        }
+        return null;
+    }
+
+
+    /**
+     * Completes every task still waiting in the submissions or a worker's
+     * deque with an {@code IllegalStateException}. Tasks are taken with
+     * poll and steal, so none is both cancelled and run.
+     */
+    private void cancelPending() {
+        Task<?> task;
+        while ((task = submissions.poll()) != null) {
+            task.cancel();
+        }
+        for (Worker worker : workers) {
+            while (!worker.deque.isEmpty()) {
+                task = worker.deque.steal();
+                if (task != null) {
+                    task.cancel();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Finds a task for {@code worker} to run: its own newest task, then an
+     * outside submission, then one stolen from another worker.
+     *
+     * @param worker the worker looking for work
+     * @return a task, or null if none was found
+     */
+    private Task<?> findTask(Worker worker) {
+        Task<?> task = worker.deque.pop();
+        if (task != null) {
+            return task;
+        }
+        task = submissions.poll();
+        if (task != null) {
+            return task;
+        }
+        int start = ThreadLocalRandom.current().nextInt(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            Worker victim = workers[(start + i) % workers.length];
+            if (victim != worker) {
+                task = victim.deque.steal();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * A worker thread and the deque it owns.
+     */
+    private static final class Worker extends Thread {
+        private final WorkStealingPool pool;
+        private final WorkStealingDeque<Task<?>> deque =
+                new WorkStealingDeque<Task<?>>();
+
+        /**
+         * Creates a daemon worker for {@code pool}.
+         *
+         * @param pool the pool the worker belongs to
+         * @param index the worker's index, for its name
+         */
+        Worker(WorkStealingPool pool, int index) {
+            super("WorkStealingPool-worker-" + index);
+            this.pool = pool;
+            setDaemon(true);
+        }
+
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (!pool.shutdown) {
+                Task<?> task = pool.findTask(this);
+                if (task != null) {
+                    task.run();
+                    idle = 0;
+                } else if (++idle < IDLE_SPINS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A unit of work that can fork subtasks and join them, like a
+     * {@code RecursiveTask}.
+     *
+     * @param <V> the result type
+     */
+    public abstract static class Task<V> {
+        private volatile boolean done;
+        // outside threads parked in join, kept as a Treiber stack
+        private final AtomicReference<Waiter> waiters =
+                new AtomicReference<Waiter>();
+        private volatile WorkStealingPool pool;
+        private V result;
+        private Throwable failure;
+
+        /**
+         * Does the work of this task, forking and joining subtasks as
+         * needed.
+         *
+         * @return the result
+         */
+        protected abstract V compute();
+
+
+        /**
+         * Pushes this task onto the current worker's deque to run
+         * asynchronously.
+         *
+         * @return this task
+         * @throws IllegalStateException if not called from a pool worker
+         */
+        public final Task<V> fork() {
+            Thread current = Thread.currentThread();
+            if (!(current instanceof Worker)) {
+                throw new IllegalStateException("Tasks can only be forked"
+                        + " from a pool worker.");
+            }
+            pool = ((Worker) current).pool;
+            ((Worker) current).deque.push(this);
+            return this;
+        }
+
+
+        /**
+         * Waits for this task to finish and returns its result. A worker
+         * runs other tasks while it waits, anyone else parks. Any number of
+         * threads may join the same task.
+         *
+         * @return the result
+         * @throws IllegalStateException if this task was never forked or
+         * invoked
+         * @throws RuntimeException whatever {@code compute} threw, or an
+         * {@code IllegalStateException} if the pool was shut down before
+         * this task ran
+         */
+        public final V join() {
+            if (pool == null) {
+                throw new IllegalStateException("Task was never forked.");
+            }
+            Worker worker = pool.currentWorker();
+            if (worker != null) {
+                while (!done) {
+                    Task<?> task = pool.findTask(worker);
+                    if (task != null) {
+                        task.run();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            } else {
+                Waiter waiter = new Waiter(Thread.currentThread());
+                do {
+                    waiter.next = waiters.get();
+                } while (!waiters.compareAndSet(waiter.next, waiter));
+                // done is set before the stack is drained, so a joiner
+                // pushed too late to be woken still sees it here
+                while (!done) {
+                    LockSupport.park(this);
+                }
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+            return result;
+        }
+
+
+        /**
+         * Returns whether this task has finished.
+         *
+         * @return true if {@code compute} has returned or thrown
+         */
+        public final boolean isDone() {
+            return done;
+        }
+
+
+        /**
+         * Computes this task, records the outcome and wakes parked joiners.
+         */
+        final void run() {
+            try {
+                result = compute();
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                complete();
+            }
+        }
+
+
+        /**
+         * Completes this task without running it, because its pool was
+         * shut down, and wakes parked joiners.
+         */
+        final void cancel() {
+            failure = new IllegalStateException("Pool was shut down before"
+                    + " the task ran.");
+            complete();
+        }
+
+
+        /**
+         * Marks this task done and wakes every parked joiner.
+         */
+        private void complete() {
+            done = true;
+            for (Waiter waiter = waiters.getAndSet(null); waiter != null;
+                    waiter = waiter.next) {
+                LockSupport.unpark(waiter.thread);
+            }
+        }
+    }
+
+
+    /**
+     * An outside thread parked in {@code Task.join}.
+     */
+    private static final class Waiter {
+        private final Thread thread;
+        private Waiter next;
+
+        /**
+         * Creates a waiter for {@code thread}.
+         *
+         * @param thread the joining thread
+         */
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}